@@ -0,0 +1,60 @@
+package com.customer.transaction.benchmark;
+
+import com.customer.transaction.data.util.BalanceIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link BalanceIndex} over a million balances spread evenly between 0 and 1 000 000: counting a range of a
+ * tenth of them, reading a page of 20 of that range by balance and by id, and the balance change of a transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BalanceIndexBenchmark {
+    private static final int CUSTOMERS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final double MIN = 400_000.0;
+    private static final double MAX = 500_000.0;
+
+    public BalanceIndex index;
+
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setup() {
+        final int[] ids = new int[CUSTOMERS];
+        final double[] balances = new double[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            ids[i] = i + 1;
+            balances[i] = random.nextDouble() * CUSTOMERS;
+        }
+        index = new BalanceIndex();
+        index.putAll(ids, balances, CUSTOMERS);
+    }
+
+    @Benchmark
+    public int range_count() {
+        return index.count(MIN, MAX);
+    }
+
+    @Benchmark
+    public int[] range_page_by_balance() {
+        return index.rangeByBalance(MIN, MAX, 5 * PAGE_SIZE, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public int[] range_page_by_id() {
+        return index.rangeById(MIN, MAX, 5 * PAGE_SIZE, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public void transaction_delta() {
+        index.add(1 + random.nextInt(CUSTOMERS), random.nextInt(201) - 100.0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.customer.transaction.benchmark;
+
+import com.customer.transaction.data.service.IdempotencyStore;
+import com.customer.transaction.data.util.IdempotentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link IdempotencyStore#execute} around a request that does nothing: without a key, with a new key (the
+ * path of every first request) and for a replay. The store has the default size, so new keys also pay for eviction.
+ * Requests with a key also pay for the {@link IdempotencyStore#fingerprint} of their serialized body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdempotencyBenchmark {
+    private static final Object RESULT = new Object();
+    private static final byte[] BODY = "{\"id\":null,\"amount\":10.0,\"created\":null,\"customerId\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REQUEST = IdempotencyStore.fingerprint(BODY);
+
+    public IdempotencyStore store;
+
+    private final String prefix = UUID.randomUUID().toString();
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        store = new IdempotencyStore(new SimpleMeterRegistry(), true, 100_000, 86_400_000, 30_000);
+        store.execute("save", "replayed", REQUEST, () -> RESULT);
+    }
+
+    @Benchmark
+    public IdempotentResult<Object> without_key() {
+        return store.execute("save", null, null, () -> RESULT);
+    }
+
+    @Benchmark
+    public IdempotentResult<Object> new_key() {
+        return store.execute("save", prefix.concat(String.valueOf(sequence++)), REQUEST, () -> RESULT);
+    }
+
+    @Benchmark
+    public IdempotentResult<Object> replay() {
+        return store.execute("save", "replayed", REQUEST, () -> RESULT);
+    }
+
+    @Benchmark
+    public byte[] fingerprint() {
+        return IdempotencyStore.fingerprint(BODY);
+    }
+}
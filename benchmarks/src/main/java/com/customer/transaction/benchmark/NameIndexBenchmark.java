@@ -0,0 +1,82 @@
+package com.customer.transaction.benchmark;
+
+import com.customer.transaction.data.util.NameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link NameIndex#search} over a million names built from 300 first names and 30 000 last names, for
+ * whole names, prefixes of one and two words and a typo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class NameIndexBenchmark {
+    private static final int NAMES = 1_000_000;
+    private static final int LIMIT = 20;
+    private static final String[] SYLLABLES = {"an", "ber", "ca", "del", "el", "fi", "ga", "ho", "in", "jo", "ka", "li",
+            "ma", "no", "ol", "pe", "ra", "si", "ta", "ur", "va", "wen", "xi", "yo", "za", "mir", "son", "ton", "ley", "ric"};
+
+    public NameIndex index;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        final String[] firstNames = new String[300];
+        for (int i = 0; i < firstNames.length; i++) {
+            firstNames[i] = word(random, 2);
+        }
+        final String[] lastNames = new String[30_000];
+        for (int i = 0; i < lastNames.length; i++) {
+            lastNames[i] = word(random, 3 + random.nextInt(2));
+        }
+        index = new NameIndex();
+        for (int id = 1; id <= NAMES; id++) {
+            index.put(id, firstNames[random.nextInt(firstNames.length)].concat(" ")
+                    .concat(lastNames[random.nextInt(lastNames.length)]));
+        }
+        firstName = firstNames[7];
+        lastName = lastNames[11];
+    }
+
+    private String firstName;
+    private String lastName;
+
+    private static String word(Random random, int syllables) {
+        final StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    @Benchmark
+    public int[] full_name() {
+        return index.search(firstName.concat(" ").concat(lastName), LIMIT);
+    }
+
+    @Benchmark
+    public int[] last_name() {
+        return index.search(lastName, LIMIT);
+    }
+
+    @Benchmark
+    public int[] last_name_typo() {
+        return index.search(lastName.substring(1, 2).concat(lastName.substring(0, 1)).concat(lastName.substring(2)), LIMIT);
+    }
+
+    @Benchmark
+    public int[] two_word_prefix() {
+        return index.search(firstName.substring(0, 3).concat(" ").concat(lastName.substring(0, 3)), LIMIT);
+    }
+
+    @Benchmark
+    public int[] one_letter_prefix() {
+        return index.search(lastName.substring(0, 1), LIMIT);
+    }
+}
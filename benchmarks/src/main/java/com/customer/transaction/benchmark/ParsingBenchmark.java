@@ -0,0 +1,56 @@
+package com.customer.transaction.benchmark;
+
+import com.customer.transaction.controller.util.Parsers;
+import com.customer.transaction.util.SortDirection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning request parameters into values: {@link SortDirection#of} and {@link Parsers}, which run several
+ * times on every listing request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+    public String sortDirectionAlias = "asc";
+    public String sortDirectionName = "Descending";
+    public String integer = "12345";
+    public String longValue = "1672531200000";
+    public String doubleValue = "1234.5";
+    public String booleanValue = "false";
+
+    @Benchmark
+    public SortDirection sort_direction_of_alias() {
+        return SortDirection.of(sortDirectionAlias);
+    }
+
+    @Benchmark
+    public SortDirection sort_direction_of_name() {
+        return SortDirection.of(sortDirectionName);
+    }
+
+    @Benchmark
+    public Integer parse_integer() {
+        return Parsers.tryParseInteger(integer, "pageNumber");
+    }
+
+    @Benchmark
+    public Long parse_long() {
+        return Parsers.tryParseLong(longValue, "createdAfter");
+    }
+
+    @Benchmark
+    public Double parse_double() {
+        return Parsers.tryParseDouble(doubleValue, "minBalance");
+    }
+
+    @Benchmark
+    public Boolean parse_boolean() {
+        return Parsers.tryParseBoolean(booleanValue, "withTotals");
+    }
+}
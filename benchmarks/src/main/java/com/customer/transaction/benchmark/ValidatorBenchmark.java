@@ -0,0 +1,72 @@
+package com.customer.transaction.benchmark;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.validator.CustomerValidatorImpl;
+import com.customer.transaction.data.validator.TransactionValidatorImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the validators that run before every save, for a valid model and for a model that is rejected, in the
+ * throwing mode and in the all-errors mode used by batch ingestion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+    private final CustomerValidatorImpl customerValidator = new CustomerValidatorImpl();
+    private final TransactionValidatorImpl transactionValidator = new TransactionValidatorImpl();
+
+    private CustomerModel validCustomer;
+    private CustomerModel invalidCustomer;
+    private TransactionModel validTransaction;
+
+    @Setup
+    public void setup() {
+        validCustomer = CustomerModel.builder().id(1).fullName("benchmark_full_name").phoneNumber("11111111111").balance(100.0).build();
+        invalidCustomer = CustomerModel.builder().id(1).fullName("benchmark_full_name").phoneNumber("11111111111").balance(-1.0).build();
+        validTransaction = TransactionModel.builder().id(1).amount(10.0).customer(validCustomer).build();
+    }
+
+    @Benchmark
+    public void customer_valid() {
+        customerValidator.validate(validCustomer);
+    }
+
+    @Benchmark
+    public void customer_invalid(Blackhole blackhole) {
+        try {
+            customerValidator.validate(invalidCustomer);
+        } catch (final ResponseStatusException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    @Benchmark
+    public void transaction_valid() {
+        transactionValidator.validate(validTransaction);
+    }
+
+    @Benchmark
+    public List<String> customer_valid_all() {
+        return customerValidator.validateAll(validCustomer);
+    }
+
+    @Benchmark
+    public List<String> customer_invalid_all() {
+        return customerValidator.validateAll(invalidCustomer);
+    }
+
+    @Benchmark
+    public List<String> transaction_valid_all() {
+        return transactionValidator.validateAll(validTransaction);
+    }
+}
@@ -0,0 +1,67 @@
+package com.customer.transaction.controller;
+
+import com.customer.transaction.controller.View.CustomerViewPagedData;
+import com.customer.transaction.controller.View.TransactionViewPagedData;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.util.GenericPagedModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one page of query results to the response views. Lives in the controller package because the
+ * {@code mapPaged} functions are package private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerMappingBenchmark {
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private final CustomerController customerController = new CustomerController(null, null);
+    private final TransactionController transactionController = new TransactionController(null, null, null, null, null);
+
+    private GenericPagedModel<CustomerModel> customers;
+    private GenericPagedModel<TransactionSummary> transactions;
+
+    @Setup
+    public void setup() {
+        var customerModels = new ArrayList<CustomerModel>(pageSize);
+        var transactionSummaries = new ArrayList<TransactionSummary>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            customerModels.add(CustomerModel.builder()
+                    .id(i)
+                    .fullName("benchmark_full_name_".concat(String.valueOf(i)))
+                    .phoneNumber(String.valueOf(10_000_000_000L + i))
+                    .balance(100.0 + i)
+                    .build());
+            transactionSummaries.add(TransactionSummary.builder()
+                    .id(i)
+                    .amount(1.0 + i)
+                    .created(new Date(1_672_531_200_000L + i))
+                    .customerId(i % 10)
+                    .build());
+        }
+        customers = GenericPagedModel.of(new PageImpl<>(customerModels, PageRequest.of(0, pageSize), 10L * pageSize));
+        transactions = GenericPagedModel.of(new PageImpl<>(transactionSummaries, PageRequest.of(0, pageSize), 10L * pageSize));
+    }
+
+    @Benchmark
+    public CustomerViewPagedData customer_map_paged() {
+        return customerController.mapPaged(customers);
+    }
+
+    @Benchmark
+    public TransactionViewPagedData transaction_map_paged() {
+        return transactionController.mapPaged(transactions);
+    }
+}
@@ -0,0 +1,94 @@
+package com.customer.transaction.loadtest;
+
+import io.netty.util.internal.PlatformDependent;
+import lombok.val;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds {@code --connections} keep-alive connections to the service open, each after one completed request so the
+ * server has set up its per-connection state, and measures what they cost: heap after a full collection, direct
+ * buffers and live threads of the JVM before and after opening them. The client side of the sockets lives in the same
+ * JVM and is included, equally for both variants.
+ */
+public class ConnectionFootprint implements AutoCloseable {
+    static final byte[] REQUEST = "GET /actuator/health HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    final List<SocketChannel> channels;
+    final Sample before;
+    final Sample after;
+
+    private ConnectionFootprint(List<SocketChannel> channels, Sample before, Sample after) {
+        this.channels = channels;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ConnectionFootprint open(String baseUrl, int connections) throws IOException {
+        val uri = URI.create(baseUrl);
+        val address = new InetSocketAddress(uri.getHost(), uri.getPort());
+        val before = Sample.take();
+        val channels = new ArrayList<SocketChannel>(connections);
+        val response = ByteBuffer.allocate(512);
+        for (int i = 0; i < connections; i++) {
+            val channel = SocketChannel.open(address);
+            channel.write(ByteBuffer.wrap(REQUEST));
+            response.clear();
+            channel.read(response);
+            channels.add(channel);
+        }
+        return new ConnectionFootprint(channels, before, Sample.take());
+    }
+
+    public int connections() {
+        return channels.size();
+    }
+
+    public double heapBytesPerConnection() {
+        return (after.heapBytes - before.heapBytes) / (double) channels.size();
+    }
+
+    public double directBytesPerConnection() {
+        return (after.directBytes - before.directBytes) / (double) channels.size();
+    }
+
+    public int threadsBefore() {
+        return before.threads;
+    }
+
+    public int threadsAfter() {
+        return after.threads;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (val channel : channels) {
+            channel.close();
+        }
+    }
+
+    record Sample(long heapBytes, long directBytes, int threads) {
+        static Sample take() {
+            System.gc();
+            System.gc();
+            val direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)
+                    .stream()
+                    .filter(pool -> pool.getName().equals("direct"))
+                    .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                    .sum()
+                    // Netty allocates most of its buffers outside of the JDK's direct pool
+                    + Math.max(0, PlatformDependent.usedDirectMemory());
+            return new Sample(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), direct,
+                    ManagementFactory.getThreadMXBean().getThreadCount());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.customer.transaction.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The requests the load test can send, by the name used in {@code --mix}. Every request picks its customer at random
+ * from the seeded ones.
+ */
+public enum Endpoint {
+    CUSTOMER_BY_ID("customer_by_id") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.get("/v1/customers/".concat(String.valueOf(target.randomCustomerId())));
+        }
+    },
+    CUSTOMER_FIND_ALL("customer_find_all") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.get("/v1/customers/find_all?pageSize=20&pageNo=".concat(String.valueOf(ThreadLocalRandom.current().nextInt(10))));
+        }
+    },
+    CUSTOMER_FIND_ALL_BY_BALANCE_BETWEEN("customer_find_all_by_balance_between") {
+        @Override
+        HttpRequest request(Target target) {
+            var min = ThreadLocalRandom.current().nextInt(target.customerIds().length);
+            return target.get("/v1/customers/find_all_by_balance_between/".concat(String.valueOf(min)).concat("&")
+                    .concat(String.valueOf(min + 50)).concat("?pageSize=20&withTotals=false"));
+        }
+    },
+    CUSTOMER_SAVE("customer_save") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.post("/v1/customers/save", "{\"fullName\":\"load_test_full_name\",\"phoneNumber\":\""
+                    .concat(String.valueOf(target.nextPhoneNumber())).concat("\",\"balance\":1000.0}"));
+        }
+    },
+    TRANSACTION_SAVE("transaction_save") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.post("/v1/transactions/save", "{\"amount\":"
+                    .concat(String.valueOf(1 + ThreadLocalRandom.current().nextInt(100)))
+                    .concat(",\"customerId\":").concat(String.valueOf(target.randomCustomerId())).concat("}"));
+        }
+    },
+    TRANSACTION_FIND_ALL_BY_CUSTOMER("transaction_find_all_by_customer") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.get("/v1/transactions/find_all_by_customer/".concat(String.valueOf(target.randomCustomerId()))
+                    .concat("?pageSize=20&withTotals=false"));
+        }
+    },
+    TRANSACTION_AGGREGATE_BY_CUSTOMER("transaction_aggregate_by_customer") {
+        @Override
+        HttpRequest request(Target target) {
+            return target.get("/v1/transactions/aggregate_by_customer/".concat(String.valueOf(target.randomCustomerId())));
+        }
+    },
+    ;
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract HttpRequest request(Target target);
+
+    public static Endpoint of(String name) {
+        return Arrays.stream(values())
+                .filter(e -> e.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No endpoint " + name + ", expected one of "
+                        + Arrays.toString(Arrays.stream(values()).map(Endpoint::getName).toArray())));
+    }
+
+    /**
+     * The started service and the data seeded into it.
+     */
+    record Target(String baseUrl, int[] customerIds, AtomicLong phoneNumbers) {
+        int randomCustomerId() {
+            return customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+        }
+
+        long nextPhoneNumber() {
+            return phoneNumbers.incrementAndGet();
+        }
+
+        HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl.concat(path))).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return HttpRequest.newBuilder(URI.create(baseUrl.concat(path)))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.customer.transaction.loadtest;
+
+import lombok.val;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (in microseconds) and error counts per endpoint of one measured run.
+ */
+public class LatencyReport {
+    static final String TOTAL = "total";
+
+    final LoadTestOptions options;
+    final Map<String, Histogram> histograms;
+    final Map<String, Long> errors;
+    final long unfinished;
+    ConnectionFootprint footprint;
+
+    private LatencyReport(LoadTestOptions options, Map<String, Histogram> histograms, Map<String, Long> errors, long unfinished) {
+        this.options = options;
+        this.histograms = histograms;
+        this.errors = errors;
+        this.unfinished = unfinished;
+    }
+
+    static LatencyReport of(LoadTestOptions options, Map<Endpoint, Recorder> recorders, Map<Endpoint, LongAdder> errors, long unfinished) {
+        val histograms = new LinkedHashMap<String, Histogram>();
+        val errorCounts = new LinkedHashMap<String, Long>();
+        val total = new Histogram(OpenModelDriver.HIGHEST_TRACKABLE_MICROS, 3);
+        var totalErrors = 0L;
+        for (val entry : recorders.entrySet()) {
+            val histogram = entry.getValue().getIntervalHistogram();
+            histograms.put(entry.getKey().getName(), histogram);
+            errorCounts.put(entry.getKey().getName(), errors.get(entry.getKey()).sum());
+            total.add(histogram);
+            totalErrors += errors.get(entry.getKey()).sum();
+        }
+        histograms.put(TOTAL, total);
+        errorCounts.put(TOTAL, totalErrors);
+        return new LatencyReport(options, histograms, errorCounts, unfinished);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Open model load test: %d req/s for %ds after %ds warm-up, %d clients, %d customers with %d transactions each%n",
+                options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(), options.clients(),
+                options.customers(), options.transactionsPerCustomer());
+        if (options.reactive()) {
+            out.printf("Service: reactive on Netty, pool of %d connections, %dms per statement%n",
+                    options.poolSize(), options.dbLatency().toMillis());
+        } else {
+            out.printf("Service: %d Tomcat threads, pool of %d connections, %dms per statement%n",
+                    options.tomcatThreads(), options.poolSize(), options.dbLatency().toMillis());
+        }
+        if (Objects.nonNull(footprint)) {
+            out.printf("%d held connections: heap %.0f bytes and direct memory %.0f bytes per connection, %d -> %d threads%n",
+                    footprint.connections(), footprint.heapBytesPerConnection(), footprint.directBytesPerConnection(),
+                    footprint.threadsBefore(), footprint.threadsAfter());
+        }
+        out.printf("%-40s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((endpoint, histogram) -> out.printf("%-40s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / (double) options.duration().toSeconds(),
+                errors.get(endpoint),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        if (unfinished > 0) {
+            out.printf("%d requests had not completed 30s after the last one was started%n", unfinished);
+        }
+    }
+
+    /**
+     * Writes the summary followed by the full percentile distribution of every endpoint in HdrHistogram's
+     * {@code .hgrm} format (values in milliseconds), which the HdrHistogram plotter reads.
+     */
+    public void write() throws IOException {
+        val output = options.output().toAbsolutePath();
+        Files.createDirectories(output.getParent());
+        try (val out = new PrintStream(Files.newOutputStream(output))) {
+            print(out);
+            histograms.forEach((endpoint, histogram) -> {
+                out.printf("%n# %s%n", endpoint);
+                histogram.outputPercentileDistribution(out, 1000.0);
+            });
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,104 @@
+package com.customer.transaction.loadtest;
+
+import com.customer.reactive.ReactiveApplication;
+import com.customer.transaction.Application;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.service.CustomerService;
+import com.customer.transaction.data.service.TransactionService;
+import lombok.val;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots {@link Application} with the {@code loadtest} profile (in-memory database, random port), seeds customers and
+ * transactions through the services, drives the configured endpoint mix over HTTP and writes the latency report.
+ * The thread mode, worker and pool sizes and the simulated database latency come from the options; with
+ * {@code --app=reactive} the requests go to the reactive variant, started on the same database after seeding.
+ */
+public class LoadTest {
+    static final long FIRST_PHONE_NUMBER = 30_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        val options = LoadTestOptions.parse(args);
+        try (val context = new SpringApplicationBuilder(Application.class)
+                .profiles("loadtest")
+                .run(options.applicationArguments())) {
+            var target = seed(context, options);
+            ConfigurableApplicationContext reactiveContext = null;
+            if (options.reactive()) {
+                reactiveContext = startReactive(options);
+                target = new Endpoint.Target(baseUrl(reactiveContext), target.customerIds(), target.phoneNumbers());
+            }
+            SlowDriver.latency(options.dbLatency());
+
+            try (val footprint = options.connections() > 0 ? ConnectionFootprint.open(target.baseUrl(), options.connections()) : null) {
+                val report = new OpenModelDriver(options).run(target);
+                report.footprint = footprint;
+                report.print(System.out);
+                report.write();
+                System.out.println("Histograms written to ".concat(options.output().toAbsolutePath().toString()));
+            } finally {
+                if (Objects.nonNull(reactiveContext)) {
+                    reactiveContext.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the reactive variant on the database the servlet application has just seeded. With {@code --db-latency-ms}
+     * its connection factory is wrapped by {@link SlowConnectionFactory}.
+     */
+    static ConfigurableApplicationContext startReactive(LoadTestOptions options) {
+        val unsupported = options.mix().keySet().stream().filter(endpoint -> !endpoint.getName().startsWith("transaction_")).toList();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("The reactive variant only serves transactions, remove from --mix: " + unsupported);
+        }
+        return new SpringApplicationBuilder(ReactiveApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("loadtest-reactive")
+                .initializers(context -> {
+                    if (!options.dbLatency().isZero()) {
+                        context.getBeanFactory().addBeanPostProcessor(new SlowConnectionFactory());
+                    }
+                })
+                .run(options.reactiveApplicationArguments());
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:".concat(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    static Endpoint.Target seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        val customerService = context.getBean(CustomerService.class);
+        val transactionService = context.getBean(TransactionService.class);
+
+        val customerIds = new int[options.customers()];
+        for (int i = 0; i < options.customers(); i++) {
+            val customer = customerService.save(CustomerModel
+                    .builder()
+                    .fullName("load_test_full_name_".concat(String.valueOf(i)))
+                    .phoneNumber(String.valueOf(FIRST_PHONE_NUMBER + i))
+                    .balance(1.0 + i)
+                    .build());
+            customerIds[i] = customer.getId();
+
+            val transactions = new ArrayList<TransactionModel>(options.transactionsPerCustomer());
+            for (int t = 0; t < options.transactionsPerCustomer(); t++) {
+                transactions.add(TransactionModel.builder().amount(1.0 + t).customer(customer).build());
+            }
+            if (!transactions.isEmpty()) {
+                transactionService.saveBatch(transactions);
+            }
+        }
+
+        return new Endpoint.Target(baseUrl(context), customerIds,
+                new AtomicLong(FIRST_PHONE_NUMBER + options.customers()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.customer.transaction.loadtest;
+
+import lombok.val;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, each given as {@code --name=value}.
+ *
+ * @param rate                    requests per second, started on schedule whether or not earlier ones have completed
+ * @param warmup                  time before the measurement starts
+ * @param duration                measured time
+ * @param clients                 threads of the HTTP client that complete the responses
+ * @param mix                     relative weight per endpoint
+ * @param customers               customers seeded before the run
+ * @param transactionsPerCustomer transactions seeded per customer
+ * @param output                  file the report and the histograms are written to
+ * @param tomcatThreads           Tomcat worker threads
+ * @param poolSize                maximum size of the connection pool
+ * @param dbLatency               time every statement execution is held for after seeding, see {@link SlowDriver}
+ * @param app                     {@code servlet}, or {@code reactive} for the transaction routes of the reactive variant
+ * @param connections             keep-alive connections held open during the run, see {@link ConnectionFootprint}
+ */
+public record LoadTestOptions(int rate, Duration warmup, Duration duration, int clients, Map<Endpoint, Integer> mix,
+                              int customers, int transactionsPerCustomer, Path output, int tomcatThreads,
+                              int poolSize, Duration dbLatency, String app, int connections) {
+    static final String DEFAULT_MIX = "customer_by_id:25,customer_find_all:10,customer_find_all_by_balance_between:5,customer_save:5,"
+            + "transaction_save:25,transaction_find_all_by_customer:20,transaction_aggregate_by_customer:10";
+    // the reactive variant only serves transactions
+    static final String DEFAULT_REACTIVE_MIX = "transaction_save:40,transaction_find_all_by_customer:40,transaction_aggregate_by_customer:20";
+    static final String REACTIVE = "reactive";
+
+    public static LoadTestOptions parse(String... args) {
+        val values = new HashMap<String, String>();
+        for (val arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        val app = values.getOrDefault("app", "servlet");
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "100")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Integer.parseInt(values.getOrDefault("clients", "64")),
+                parseMix(values.getOrDefault("mix", app.equals(REACTIVE) ? DEFAULT_REACTIVE_MIX : DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("customers", "1000")),
+                Integer.parseInt(values.getOrDefault("transactions-per-customer", "20")),
+                Path.of(values.getOrDefault("output", "target/loadtest.hgrm")),
+                Integer.parseInt(values.getOrDefault("tomcat-threads", "200")),
+                Integer.parseInt(values.getOrDefault("pool-size", "20")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("db-latency-ms", "0"))),
+                app,
+                Integer.parseInt(values.getOrDefault("connections", "0")));
+    }
+
+    public boolean reactive() {
+        return app.equals(REACTIVE);
+    }
+
+    /**
+     * Command line arguments for the application, so they win over its {@code application.yml}.
+     */
+    public String[] applicationArguments() {
+        val arguments = new ArrayList<String>();
+        arguments.add("--server.tomcat.threads.max=".concat(String.valueOf(tomcatThreads)));
+        arguments.add("--spring.datasource.hikari.maximum-pool-size=".concat(String.valueOf(poolSize)));
+        if (!dbLatency.isZero()) {
+            arguments.add("--spring.datasource.driver-class-name=".concat(SlowDriver.class.getName()));
+        }
+        if (connections > 0) {
+            // held connections are idle between requests; Tomcat closes idle ones after 20s and accepts at most 8192
+            arguments.add("--server.tomcat.keep-alive-timeout=1h");
+            arguments.add("--server.tomcat.max-connections=".concat(String.valueOf(connections + 1000)));
+        }
+        return arguments.toArray(new String[0]);
+    }
+
+    /**
+     * Command line arguments for the reactive variant.
+     */
+    public String[] reactiveApplicationArguments() {
+        return new String[]{"--spring.r2dbc.pool.max-size=".concat(String.valueOf(poolSize))};
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        val result = new EnumMap<Endpoint, Integer>(Endpoint.class);
+        Arrays.stream(mix.split(",")).forEach(entry -> {
+            val parts = entry.split(":");
+            result.put(Endpoint.of(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        });
+        return result;
+    }
+}
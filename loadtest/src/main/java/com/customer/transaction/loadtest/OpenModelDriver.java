@@ -0,0 +1,101 @@
+package com.customer.transaction.loadtest;
+
+import lombok.val;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload model: requests are started at a fixed arrival rate, independent of how fast the service answers.
+ * Latency is measured from the moment a request was scheduled to start, not from when it was actually sent, so a
+ * stalled service shows up in the percentiles instead of silently lowering the request rate (coordinated omission).
+ */
+public class OpenModelDriver {
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    final LoadTestOptions options;
+    final Endpoint[] schedule;
+    final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    final AtomicLong inFlight = new AtomicLong();
+
+    public OpenModelDriver(LoadTestOptions options) {
+        this.options = options;
+        val slots = new ArrayList<Endpoint>();
+        options.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        });
+        this.schedule = slots.toArray(new Endpoint[0]);
+    }
+
+    public LatencyReport run(Endpoint.Target target) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients());
+        try {
+            val client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+
+            val intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+            val start = System.nanoTime();
+            val measurementStart = start + options.warmup().toNanos();
+            val end = measurementStart + options.duration().toNanos();
+
+            for (long n = 0; ; n++) {
+                val intendedStart = start + n * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                val wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                val endpoint = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                val measured = intendedStart >= measurementStart;
+                inFlight.incrementAndGet();
+                client.sendAsync(endpoint.request(target), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            if (measured) {
+                                record(endpoint, intendedStart, Objects.isNull(error) && response.statusCode() < 400);
+                            }
+                            inFlight.decrementAndGet();
+                        });
+            }
+
+            val drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            return LatencyReport.of(options, recorders, errors, inFlight.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void record(Endpoint endpoint, long intendedStart, boolean success) {
+        val micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        recorders.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+}
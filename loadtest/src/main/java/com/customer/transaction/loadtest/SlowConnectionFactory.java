@@ -0,0 +1,65 @@
+package com.customer.transaction.loadtest;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+/**
+ * The R2DBC counterpart of {@link SlowDriver} for the reactive variant: every statement execution is delayed by the
+ * same latency, on a timer instead of a sleeping thread, while the connection stays taken from the pool.
+ */
+public class SlowConnectionFactory implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof ConnectionFactory ? proxy(bean) : bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().equals("execute")) {
+                return Flux.defer(() -> (Publisher<?>) invoke(method, target, args))
+                        // r2dbc-h2 blocks underneath; on the few parallel threads one lock wait would stall the rest
+                        .delaySubscription(Duration.ofNanos(SlowDriver.latencyNanos), Schedulers.boundedElastic());
+            }
+            final Object result = invoke(method, target, args);
+            if (result == target) {
+                return proxy;
+            }
+            if (target instanceof ConnectionFactory && method.getName().equals("create")) {
+                return Mono.from((Publisher<Connection>) result).map(SlowConnectionFactory::proxy);
+            }
+            if (target instanceof Connection && result instanceof Statement) {
+                return proxy(result);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(SlowConnectionFactory.class.getClassLoader(),
+                ClassUtils.getAllInterfaces(target), handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(ex.getCause());
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
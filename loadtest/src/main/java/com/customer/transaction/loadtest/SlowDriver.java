@@ -0,0 +1,99 @@
+package com.customer.transaction.loadtest;
+
+import lombok.val;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Slow database stand-in: delegates to the H2 driver and holds every statement execution for {@link #latency}, the way
+ * a round trip to a remote MySQL would, while the request thread keeps its pooled connection. The latency is switched
+ * on after seeding so the setup does not pay it.
+ */
+public class SlowDriver implements Driver {
+    static volatile long latencyNanos;
+
+    final Driver delegate = new org.h2.Driver();
+
+    public static void latency(Duration latency) {
+        latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        val connection = delegate.connect(url, info);
+        return connection == null ? null : proxy(Connection.class, connection);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) throws SQLException {
+        return delegate.acceptsURL(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+        return delegate.getPropertyInfo(url, info);
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return delegate.getMajorVersion();
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return delegate.getMinorVersion();
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return delegate.jdbcCompliant();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && latencyNanos > 0) {
+                Thread.sleep(latencyNanos / 1_000_000, (int) (latencyNanos % 1_000_000));
+            }
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (final InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            // statements created by the connection are wrapped too, that is where the executes happen
+            if (!(target instanceof Connection)) {
+                return result;
+            }
+            if (result instanceof CallableStatement callableStatement) {
+                return proxy(CallableStatement.class, callableStatement);
+            }
+            if (result instanceof PreparedStatement preparedStatement) {
+                return proxy(PreparedStatement.class, preparedStatement);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(SlowDriver.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
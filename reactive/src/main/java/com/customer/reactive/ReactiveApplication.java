@@ -0,0 +1,35 @@
+package com.customer.reactive;
+
+import com.customer.transaction.data.validator.TransactionValidator;
+import com.customer.transaction.data.validator.TransactionValidatorImpl;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Non-blocking variant of the transaction API: the {@code /v1/transactions/*} routes of the servlet application on
+ * Netty, reading and writing the same schema through R2DBC. It shares the model, view and validation packages with the
+ * servlet application but none of its services, so the ledger balances, the daily rollup and the customer cache are
+ * not maintained; run it against a database where {@code bank.transaction.ledger} and {@code rollup} are disabled.
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveApplication.class, args);
+	}
+
+	@Bean
+	public TransactionValidator transactionValidator() {
+		return new TransactionValidatorImpl();
+	}
+
+	/**
+	 * Netty even when a servlet container is on the class path as well, which is the case in the load test.
+	 */
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+}
@@ -0,0 +1,205 @@
+package com.customer.reactive.controller;
+
+import com.customer.reactive.data.ReactiveTransactionService;
+import com.customer.transaction.controller.View.TransactionAggregateView;
+import com.customer.transaction.controller.View.TransactionBatchItemView;
+import com.customer.transaction.controller.View.TransactionBatchView;
+import com.customer.transaction.controller.View.TransactionView;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.util.BatchItemResult;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import static com.customer.transaction.controller.util.Parsers.tryParseInteger;
+import static com.customer.transaction.controller.util.Parsers.tryParseLong;
+
+/**
+ * The routes of the servlet {@code TransactionController}. Listings are streamed as newline delimited JSON, one
+ * {@link TransactionView} per line as the rows arrive, or as a JSON array for {@code Accept: application/json};
+ * neither carries totals or cursors.
+ */
+@RestController
+@Slf4j
+public class ReactiveTransactionController {
+    final ReactiveTransactionService transactionService;
+
+    @Autowired
+    public ReactiveTransactionController(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @RequestMapping(value = "/v1/transactions/{id}", method = RequestMethod.GET)
+    private Mono<TransactionView> getTransactionByIdV1(@PathVariable String id) {
+        log.info("Calling: getTransactionByIdV1 >> ".concat(id));
+
+        return transactionService.findById(tryParseInteger(id, "id"))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/find_all", method = RequestMethod.GET,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    private Flux<TransactionView> getAllTransactionsV1(
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        log.info("Calling: getAllTransactionsV1");
+
+        return transactionService.findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/find_all_by_customer/{customerId}", method = RequestMethod.GET,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    private Flux<TransactionView> getAllTransactionsByCustomerV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        log.info("Calling: getAllTransactionsByCustomerV1 >> customerId: ".concat(customerId));
+
+        return transactionService.findAllByCustomerId(tryParseInteger(customerId, "customerId"), pageNo, pageSize, sortBy, SortDirection.of(sortDir))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/find_all_by_customer_created_before_created_after/{customerId}", method = RequestMethod.GET,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    private Flux<TransactionView> getAllByCustomerAndCreatedBeforeAndCreatedAfterV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        log.info("Calling: getAllByCustomerAndCreatedBeforeAndCreatedAfterV1 >> customerId: "
+                .concat(customerId)
+                .concat(" | Created Before: ").concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        return transactionService.findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(customerId, "customerId"),
+                        new Date(tryParseLong(createdBefore, "createdBefore")),
+                        new Date(tryParseLong(createdAfter, "createdAfter")), pageNo, pageSize, sortBy, SortDirection.of(sortDir))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/aggregate_by_customer/{customerId}", method = RequestMethod.GET)
+    private Mono<TransactionAggregateView> getTransactionAggregateByCustomerV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter) {
+        log.info("Calling: getTransactionAggregateByCustomerV1 >> customerId: "
+                .concat(customerId)
+                .concat(" | Created Before: ").concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        val id = tryParseInteger(customerId, "customerId");
+        return transactionService.aggregateByCustomerId(id,
+                        StringUtils.isBlank(createdAfter) ? null : new Date(tryParseLong(createdAfter, "createdAfter")),
+                        StringUtils.isBlank(createdBefore) ? null : new Date(tryParseLong(createdBefore, "createdBefore")))
+                .map(result -> TransactionAggregateView.builder()
+                        .customerId(id)
+                        .count(result.getCount())
+                        .sum(result.getSum())
+                        .min(result.getMin())
+                        .max(result.getMax())
+                        .average(result.getAverage())
+                        .build());
+    }
+
+    @RequestMapping(value = "/v1/transactions/export_by_customer/{customerId}", method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    private Flux<TransactionView> exportTransactionsByCustomerV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter) {
+        log.info("Calling: exportTransactionsByCustomerV1 >> customerId: "
+                .concat(customerId)
+                .concat(" | Created Before: ").concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        return transactionService.exportByCustomer(tryParseInteger(customerId, "customerId"),
+                        StringUtils.isBlank(createdAfter) ? null : new Date(tryParseLong(createdAfter, "createdAfter")),
+                        StringUtils.isBlank(createdBefore) ? null : new Date(tryParseLong(createdBefore, "createdBefore")))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/save", method = RequestMethod.POST)
+    private Mono<TransactionView> saveTransactionV1(@RequestBody TransactionView transaction) {
+        log.info("Calling: saveTransactionV1 >> ".concat(transaction.toString()));
+
+        return transactionService.save(mapTransactionViewToTransactionModel(transaction))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    @RequestMapping(value = "/v1/transactions/save_batch", method = RequestMethod.POST)
+    private Mono<TransactionBatchView> saveTransactionBatchV1(@RequestBody List<TransactionView> transactions) {
+        log.info("Calling: saveTransactionBatchV1 >> size: ".concat(String.valueOf(transactions.size())));
+
+        return transactionService.saveBatch(transactions.stream().map(this::mapTransactionViewToTransactionModel).toList())
+                .collectList()
+                .map(this::mapBatch);
+    }
+
+    @RequestMapping(value = "/v1/transactions/delete/{id}", method = RequestMethod.DELETE)
+    private Mono<TransactionView> deleteTransactionV1(@PathVariable String id) {
+        log.info("Calling: deleteTransactionV1 >> ".concat(id));
+
+        return transactionService.hardDelete(tryParseInteger(id, "id"))
+                .map(this::mapTransactionSummaryToTransactionView);
+    }
+
+    private TransactionBatchView mapBatch(List<BatchItemResult<TransactionSummary>> results) {
+        val saved = (int) results.stream().filter(r -> Objects.nonNull(r.getContent())).count();
+        return TransactionBatchView
+                .builder()
+                .numberOfElements(results.size())
+                .numberOfSaved(saved)
+                .numberOfRejected(results.size() - saved)
+                .content(results.stream().map(this::mapBatchItemToBatchItemView).toList())
+                .build();
+    }
+
+    private TransactionBatchItemView mapBatchItemToBatchItemView(BatchItemResult<TransactionSummary> result) {
+        return TransactionBatchItemView.builder()
+                .index(result.getIndex())
+                .status(result.getStatus())
+                .message(result.getMessage())
+                .transaction(Objects.isNull(result.getContent()) ? null : mapTransactionSummaryToTransactionView(result.getContent()))
+                .build();
+    }
+
+    private TransactionModel mapTransactionViewToTransactionModel(TransactionView transaction) {
+        return TransactionModel
+                .builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .customer(Objects.isNull(transaction.getCustomerId())
+                        ? null
+                        : CustomerModel.builder().id(transaction.getCustomerId()).build())
+                .build();
+    }
+
+    private TransactionView mapTransactionSummaryToTransactionView(TransactionSummary transactionSummary) {
+        return TransactionView.builder()
+                .amount(transactionSummary.getAmount())
+                .created(transactionSummary.getCreated())
+                .id(transactionSummary.getId())
+                .customerId(transactionSummary.getCustomerId())
+                .build();
+    }
+}
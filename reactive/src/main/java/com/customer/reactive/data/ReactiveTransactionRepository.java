@@ -0,0 +1,176 @@
+package com.customer.reactive.data;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+import com.customer.transaction.data.model.TransactionSummary;
+import io.r2dbc.spi.Row;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * The statements the servlet API runs through JPA for transactions, written as SQL against the same tables.
+ * {@code orderBy} arguments are trusted: they are built from a fixed set of columns by the service.
+ */
+@Repository
+public class ReactiveTransactionRepository {
+    static final String SELECT_SUMMARY = "select id, amount, created, customer_id from bank.transaction";
+    static final String SELECT_AGGREGATE = "select count(*) as transaction_count, sum(amount) as amount_sum,"
+            + " min(amount) as amount_min, max(amount) as amount_max, avg(amount) as amount_avg from bank.transaction";
+
+    final DatabaseClient databaseClient;
+    final TransactionalOperator transactionalOperator;
+
+    @Autowired
+    public ReactiveTransactionRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<TransactionSummary> findSummaryById(Integer id) {
+        return databaseClient.sql(SELECT_SUMMARY.concat(" where id = :id"))
+                .bind("id", id)
+                .map(ReactiveTransactionRepository::summary)
+                .one();
+    }
+
+    public Flux<TransactionSummary> findAllSummaries(String orderBy, int limit, long offset) {
+        return databaseClient.sql(SELECT_SUMMARY.concat(" order by ").concat(orderBy).concat(" limit :limit offset :offset"))
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveTransactionRepository::summary)
+                .all();
+    }
+
+    /**
+     * Rows of one customer, when given only those with {@code createdAfter < created < createdBefore}; all of them
+     * when {@code limit} is 0.
+     */
+    public Flux<TransactionSummary> findAllSummariesByCustomerId(Integer customerId, Date createdAfter, Date createdBefore,
+                                                                 String orderBy, int limit, long offset) {
+        var sql = SELECT_SUMMARY.concat(byCustomerIdAndCreated(createdAfter, createdBefore)).concat(" order by ").concat(orderBy);
+        if (limit > 0) {
+            sql = sql.concat(" limit :limit offset :offset");
+        }
+        var spec = bindCustomerIdAndCreated(databaseClient.sql(sql), customerId, createdAfter, createdBefore);
+        if (limit > 0) {
+            spec = spec.bind("limit", limit).bind("offset", offset);
+        }
+        return spec.map(ReactiveTransactionRepository::summary).all();
+    }
+
+    public Mono<TransactionAggregate> aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        return bindCustomerIdAndCreated(databaseClient.sql(SELECT_AGGREGATE.concat(byCustomerIdAndCreated(createdAfter, createdBefore))),
+                customerId, createdAfter, createdBefore)
+                .map(row -> TransactionAggregate.builder()
+                        .count(row.get("transaction_count", Number.class).longValue())
+                        .sum(toDouble(row.get("amount_sum", Number.class)))
+                        .min(toDouble(row.get("amount_min", Number.class)))
+                        .max(toDouble(row.get("amount_max", Number.class)))
+                        .average(toDouble(row.get("amount_avg", Number.class)))
+                        .build())
+                .one();
+    }
+
+    public Mono<Boolean> customerExists(Integer customerId) {
+        return databaseClient.sql("select id from bank.customer where id = :id")
+                .bind("id", customerId)
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .hasElement();
+    }
+
+    public Mono<Integer> insert(Integer id, Double amount, Integer customerId) {
+        return databaseClient.sql("insert into bank.transaction (id, amount, customer_id) values (:id, :amount, :customerId)")
+                .bind("id", id)
+                .bind("amount", amount)
+                .bind("customerId", customerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> update(Integer id, Double amount, Integer customerId) {
+        return databaseClient.sql("update bank.transaction set amount = :amount, customer_id = :customerId where id = :id")
+                .bind("id", id)
+                .bind("amount", amount)
+                .bind("customerId", customerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteById(Integer id) {
+        return databaseClient.sql("delete from bank.transaction where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Reserves {@code blockSize} ids from {@code transaction_seq} the way the servlet API's pooled-lo generator does:
+     * the stored value is the first id of the next free block, so both APIs can insert into the same table.
+     *
+     * @return the first reserved id
+     */
+    public Mono<Long> reserveIds(int blockSize) {
+        return databaseClient.sql("select next_val from bank.transaction_seq for update")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(first -> databaseClient.sql("update bank.transaction_seq set next_val = :next")
+                        .bind("next", first + blockSize)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(first))
+                .as(transactionalOperator::transactional);
+    }
+
+    private static String byCustomerIdAndCreated(Date createdAfter, Date createdBefore) {
+        var where = " where customer_id = :customerId";
+        if (Objects.nonNull(createdAfter)) {
+            where = where.concat(" and created > :createdAfter");
+        }
+        if (Objects.nonNull(createdBefore)) {
+            where = where.concat(" and created < :createdBefore");
+        }
+        return where;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindCustomerIdAndCreated(DatabaseClient.GenericExecuteSpec spec, Integer customerId,
+                                                                              Date createdAfter, Date createdBefore) {
+        var result = spec.bind("customerId", customerId);
+        if (Objects.nonNull(createdAfter)) {
+            result = result.bind("createdAfter", toLocalDateTime(createdAfter));
+        }
+        if (Objects.nonNull(createdBefore)) {
+            result = result.bind("createdBefore", toLocalDateTime(createdBefore));
+        }
+        return result;
+    }
+
+    private static TransactionSummary summary(Row row) {
+        val created = row.get("created", LocalDateTime.class);
+        return TransactionSummary.builder()
+                .id(row.get("id", Integer.class))
+                .amount(row.get("amount", Double.class))
+                .created(Objects.isNull(created) ? null : Date.from(created.atZone(ZoneId.systemDefault()).toInstant()))
+                .customerId(row.get("customer_id", Integer.class))
+                .build();
+    }
+
+    // the type of sum and avg differs between drivers
+    private static Double toDouble(Number value) {
+        return Objects.isNull(value) ? null : value.doubleValue();
+    }
+
+    // DATETIME has no zone; like Connector/J for the servlet API, dates are read and written in the JVM's zone
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
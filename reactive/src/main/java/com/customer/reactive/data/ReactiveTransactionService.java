@@ -0,0 +1,221 @@
+package com.customer.reactive.data;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.util.BatchItemResult;
+import com.customer.transaction.data.validator.TransactionValidator;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transaction operations of {@code TransactionService} without blocking: listings are streamed row by row as the
+ * driver reads them and are never counted, so there are no totals and no page is held in memory. Whether the customer
+ * exists is only asked when a listing or aggregate comes back empty, and errors are raised before the first row, while
+ * the response status can still be set.
+ */
+@Service
+@Slf4j
+public class ReactiveTransactionService {
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "amount", "amount",
+            "created", "created",
+            "customerId", "customer_id");
+
+    final ReactiveTransactionRepository transactionRepository;
+    final TransactionIdAllocator transactionIdAllocator;
+    final TransactionValidator transactionValidator;
+    final int batchMaxSize;
+
+    @Autowired
+    public ReactiveTransactionService(ReactiveTransactionRepository transactionRepository, TransactionIdAllocator transactionIdAllocator,
+                                      TransactionValidator transactionValidator,
+                                      @Value("${bank.transaction.batch.max-size:1000}") int batchMaxSize) {
+        this.transactionRepository = transactionRepository;
+        this.transactionIdAllocator = transactionIdAllocator;
+        this.transactionValidator = transactionValidator;
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public Mono<TransactionSummary> findById(Integer id) {
+        if (Objects.isNull(id)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "transactionId must not be null"));
+        }
+        return transactionRepository.findSummaryById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "transactionId:".concat(id.toString()))));
+    }
+
+    public Flux<TransactionSummary> findAll(int page, int size, String sortBy, SortDirection sortDirection) {
+        return Flux.defer(() -> transactionRepository.findAllSummaries(orderBy(sortBy, sortDirection), size, (long) page * size))
+                .switchIfEmpty(Flux.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No data")));
+    }
+
+    public Flux<TransactionSummary> findAllByCustomerId(Integer customerId, int page, int size, String sortBy, SortDirection sortDirection) {
+        return requireCustomerId(customerId)
+                .thenMany(Flux.defer(() -> transactionRepository.findAllSummariesByCustomerId(customerId, null, null,
+                        orderBy(sortBy, sortDirection), size, (long) page * size)))
+                .switchIfEmpty(emptyResultOfCustomer(customerId, "No transactions of customer with id: ".concat(String.valueOf(customerId))));
+    }
+
+    public Flux<TransactionSummary> findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(Integer customerId, Date createdBefore, Date createdAfter,
+                                                                                       int page, int size, String sortBy, SortDirection sortDirection) {
+        return requireCustomerId(customerId)
+                .thenMany(Flux.defer(() -> transactionRepository.findAllSummariesByCustomerId(customerId, createdAfter, createdBefore,
+                        orderBy(sortBy, sortDirection), size, (long) page * size)))
+                .switchIfEmpty(emptyResultOfCustomer(customerId, "No transaction between dates: ".concat(createdBefore.toString())
+                        .concat(" | ").concat(createdAfter.toString()).concat(" of customer with id: ").concat(String.valueOf(customerId))));
+    }
+
+    public Mono<TransactionAggregate> aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        return requireCustomerId(customerId)
+                .then(transactionRepository.aggregateByCustomerId(customerId, createdAfter, createdBefore))
+                .flatMap(result -> {
+                    if (result.getCount() > 0) {
+                        return Mono.just(result);
+                    }
+                    result.setSum(0.0);
+                    return requireCustomer(customerId).thenReturn(result);
+                });
+    }
+
+    public Flux<TransactionSummary> exportByCustomer(Integer customerId, Date createdAfter, Date createdBefore) {
+        return requireCustomer(customerId)
+                .thenMany(transactionRepository.findAllSummariesByCustomerId(customerId, createdAfter, createdBefore, "id", 0, 0));
+    }
+
+    /**
+     * Inserts a transaction, or updates it when it has the id of an existing one. An unknown customer is found by the
+     * foreign key instead of a lookup before the write. Like the servlet API, an insert returns the time of the save on
+     * this node as {@code created}, the column is filled by the database; an update returns the stored row.
+     */
+    public Mono<TransactionSummary> save(TransactionModel transactionModel) {
+        return Mono.defer(() -> {
+            if (Objects.isNull(transactionModel.getCustomer()) || Objects.isNull(transactionModel.getCustomer().getId())) {
+                return Mono.error(new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "customerId must not be null"));
+            }
+            transactionValidator.validate(transactionModel);
+            return write(transactionModel);
+        });
+    }
+
+    /**
+     * The write of {@link #save} for a transaction that has already been validated.
+     */
+    private Mono<TransactionSummary> write(TransactionModel transactionModel) {
+        val customerId = transactionModel.getCustomer().getId();
+        val amount = transactionModel.getAmount();
+        val updated = Objects.isNull(transactionModel.getId())
+                ? Mono.just(0)
+                : transactionRepository.update(transactionModel.getId(), amount, customerId);
+
+        return updated
+                .flatMap(rows -> rows > 0
+                        ? findById(transactionModel.getId())
+                        : transactionIdAllocator.nextId()
+                        .flatMap(id -> transactionRepository.insert(id, amount, customerId).thenReturn(TransactionSummary.builder()
+                                .id(id)
+                                .amount(amount)
+                                .created(new Date())
+                                .customerId(customerId)
+                                .build())))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer with id: ".concat(customerId.toString())))
+                .doOnNext(saved -> log.info("Transaction saved: ".concat(saved.toString())));
+    }
+
+    /**
+     * Saves the transactions one after another and reports a result per item, in the order and with the statuses of
+     * {@code TransactionService.saveBatch}. Unlike there, items are not saved in one database transaction.
+     */
+    public Flux<BatchItemResult<TransactionSummary>> saveBatch(List<TransactionModel> transactionModels) {
+        if (Objects.isNull(transactionModels) || transactionModels.isEmpty()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "transactions must not be empty"));
+        }
+        if (transactionModels.size() > batchMaxSize) {
+            return Flux.error(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "batch size must not exceed ".concat(String.valueOf(batchMaxSize))));
+        }
+        return Flux.range(0, transactionModels.size())
+                .concatMap(i -> saveBatchItem(i, transactionModels.get(i)));
+    }
+
+    public Mono<TransactionSummary> hardDelete(Integer id) {
+        return findById(id)
+                .flatMap(transaction -> transactionRepository.deleteById(id).thenReturn(transaction));
+    }
+
+    private Mono<BatchItemResult<TransactionSummary>> saveBatchItem(int index, TransactionModel transactionModel) {
+        if (Objects.isNull(transactionModel.getCustomer()) || Objects.isNull(transactionModel.getCustomer().getId())) {
+            return Mono.just(rejected(index, HttpStatus.NOT_ACCEPTABLE.value(), "customerId must not be null"));
+        }
+        val errors = transactionValidator.validateAll(transactionModel);
+        if (!errors.isEmpty()) {
+            return Mono.just(rejected(index, HttpStatus.BAD_REQUEST.value(), String.join("; ", errors)));
+        }
+        return write(transactionModel)
+                .map(saved -> BatchItemResult.<TransactionSummary>builder()
+                        .index(index)
+                        .status(HttpStatus.OK.value())
+                        .content(saved)
+                        .build())
+                .onErrorResume(ResponseStatusException.class, ex -> Mono.just(rejected(index, ex.getRawStatusCode(), ex.getReason())));
+    }
+
+    private Mono<Void> requireCustomerId(Integer customerId) {
+        return Objects.isNull(customerId)
+                ? Mono.error(new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "customerId must not be null"))
+                : Mono.empty();
+    }
+
+    private Mono<Void> requireCustomer(Integer customerId) {
+        return requireCustomerId(customerId)
+                .then(transactionRepository.customerExists(customerId))
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer with id: ".concat(customerId.toString()))));
+    }
+
+    /**
+     * The error for a listing without rows, only checked once it came back empty: no such customer, or {@code message}.
+     */
+    private <T> Mono<T> emptyResultOfCustomer(Integer customerId, String message) {
+        return requireCustomer(customerId)
+                .then(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, message)));
+    }
+
+    static String orderBy(String sortBy, SortDirection sortDirection) {
+        val column = SORT_COLUMNS.get(sortBy);
+        if (Objects.isNull(column)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "sortBy must be one of ".concat(String.join(", ", SORT_COLUMNS.keySet())).concat(" but was ").concat(sortBy));
+        }
+        val direction = sortDirection.equals(SortDirection.Ascending) ? " asc" : " desc";
+        // id breaks ties, so a row does not move between pages
+        return column.equals("id")
+                ? column.concat(direction)
+                : column.concat(direction).concat(", id").concat(direction);
+    }
+
+    private static BatchItemResult<TransactionSummary> rejected(int index, int status, String message) {
+        return BatchItemResult.<TransactionSummary>builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
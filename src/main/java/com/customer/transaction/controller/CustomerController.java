@@ -1,19 +1,26 @@
 package com.customer.transaction.controller;
 
+import com.customer.transaction.controller.View.CustomerImportView;
 import com.customer.transaction.controller.View.CustomerView;
 import com.customer.transaction.controller.View.CustomerViewPagedData;
 import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.service.CustomerImportService;
 import com.customer.transaction.data.service.CustomerService;
 import com.customer.transaction.data.util.GenericPagedModel;
 import com.customer.transaction.util.SortDirection;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 import static com.customer.transaction.controller.util.Parsers.tryParseDouble;
 import static com.customer.transaction.controller.util.Parsers.tryParseInteger;
@@ -22,10 +29,12 @@ import static com.customer.transaction.controller.util.Parsers.tryParseInteger;
 @Slf4j
 public class CustomerController {
     final CustomerService customerService;
+    final CustomerImportService customerImportService;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerImportService customerImportService) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
     }
 
     @RequestMapping(value = "/v1/customers/{id}", method = RequestMethod.GET)
@@ -43,11 +52,12 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals) {
 
         log.info("Calling: gelAllCustomersByBalanceBetween >> minBalance: ".concat(min).concat("  maxBalance: ").concat(max));
 
-        val result = customerService.findAllCustomersByBalanceBetween(tryParseDouble(min, "min"), tryParseDouble(max, "max"), pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val result = customerService.findAllCustomersByBalanceBetween(tryParseDouble(min, "min"), tryParseDouble(max, "max"), pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals);
 
         return ResponseEntity.ok(mapPaged(result));
     }
@@ -57,10 +67,14 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals,
+            @RequestParam(required = false) String after) {
         log.info("Calling: getAllCustomersV1");
 
-        val result = customerService.findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val result = Objects.isNull(after)
+                ? customerService.findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : customerService.findAllAfter(after, pageSize, sortBy, SortDirection.of(sortDir));
 
         return ResponseEntity.ok(mapPaged(result));
     }
@@ -72,15 +86,27 @@ public class CustomerController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals) {
         log.info("Calling: gelAllCustomersByFullName >> Full Name: ".concat(fullName));
 
-        val result = customerService.findAllByFullName(fullName, pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val result = customerService.findAllByFullName(fullName, pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals);
 
         return ResponseEntity.ok(mapPaged(result));
     }
 
 
+    @RequestMapping(value = "/v1/customers/search", method = RequestMethod.GET)
+    private ResponseEntity<CustomerViewPagedData> searchCustomersByFullNameV1(
+            @RequestParam String fullName,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Calling: searchCustomersByFullNameV1 >> Full Name: ".concat(fullName));
+
+        val result = customerService.searchByFullName(fullName, limit);
+
+        return ResponseEntity.ok(mapPaged(result));
+    }
+
     @RequestMapping(value = "/v1/customers/save", method = RequestMethod.POST)
     private ResponseEntity<CustomerView> saveCustomerV1(@RequestBody CustomerView customer) {
         log.info("Calling: saveCustomerV1 >> ".concat(customer.toString()));
@@ -96,6 +122,24 @@ public class CustomerController {
         return ResponseEntity.ok(mapCustomerToCustomerView(saved));
     }
 
+    @RequestMapping(value = "/v1/customers/import", method = RequestMethod.POST,
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    private ResponseEntity<CustomerImportView> importCustomersV1(InputStream csv) {
+        log.info("Calling: importCustomersV1");
+
+        val result = customerImportService.importCsv(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        return ResponseEntity.ok(CustomerImportView
+                .builder()
+                .numberOfRows(result.getRows())
+                .numberOfImported(result.getImported())
+                .numberOfRejected(result.getRejected())
+                .elapsedMillis(result.getElapsedMillis())
+                .rowsPerSecond(result.getRowsPerSecond())
+                .rejectionFile(result.getRejectionFile())
+                .build());
+    }
+
     @RequestMapping(value = "/v1/customers/delete/{id}", method = RequestMethod.DELETE)
     private ResponseEntity<CustomerView> deleteCustomerV1(@PathVariable String id) {
         log.info("Calling: deleteCustomerV1 >> ".concat(id));
@@ -106,13 +150,15 @@ public class CustomerController {
     }
 
 
-    private CustomerViewPagedData mapPaged(GenericPagedModel<CustomerModel> customers) {
+    CustomerViewPagedData mapPaged(GenericPagedModel<CustomerModel> customers) {
         return CustomerViewPagedData
                 .builder()
                 .totalElements(customers.getTotalElements())
                 .totalPages(customers.totalPages)
                 .numberOfElements(customers.getNumberOfElements())
                 .content(mapCustomersCollectiontoCustomerViewList(customers.getContent()))
+                .hasNext(customers.getHasNext())
+                .nextCursor(customers.getNextCursor())
                 .build();
     }
 
@@ -1,19 +1,38 @@
 package com.customer.transaction.controller;
+import com.customer.transaction.controller.View.DailySummaryRebuildView;
+import com.customer.transaction.controller.View.TransactionAggregateView;
+import com.customer.transaction.controller.View.TransactionBatchItemView;
+import com.customer.transaction.controller.View.TransactionBatchView;
 import com.customer.transaction.controller.View.TransactionViewPagedData;
 import com.customer.transaction.controller.View.TransactionView;
+import com.customer.transaction.data.model.CustomerModel;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.service.CustomerDailySummaryService;
 import com.customer.transaction.data.service.CustomerService;
+import com.customer.transaction.data.service.IdempotencyStore;
 import com.customer.transaction.data.service.TransactionService;
+import com.customer.transaction.data.util.BatchItemResult;
 import com.customer.transaction.data.util.GenericPagedModel;
+import com.customer.transaction.data.util.IdempotentResult;
 import com.customer.transaction.util.SortDirection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 
 import static com.customer.transaction.controller.util.Parsers.tryParseInteger;
 import static com.customer.transaction.controller.util.Parsers.tryParseLong;
@@ -21,14 +40,21 @@ import static com.customer.transaction.controller.util.Parsers.tryParseLong;
 @RestController
 @Slf4j
 public class TransactionController {
+    static final String NDJSON = "application/x-ndjson";
 
     final TransactionService transactionService;
     final CustomerService customerService;
+    final CustomerDailySummaryService customerDailySummaryService;
+    final IdempotencyStore idempotencyStore;
+    final ObjectMapper objectMapper;
 
     @Autowired
-    public TransactionController(TransactionService transactionService, CustomerService customerService) {
+    public TransactionController(TransactionService transactionService, CustomerService customerService, CustomerDailySummaryService customerDailySummaryService, IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
         this.customerService = customerService;
+        this.customerDailySummaryService = customerDailySummaryService;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
     }
 
     @RequestMapping(value = "/v1/transactions/{id}", method = RequestMethod.GET)
@@ -45,10 +71,14 @@ public class TransactionController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals,
+            @RequestParam(required = false) String after) {
         log.info("Calling: getAllTransactionsV1");
 
-        val result = transactionService.findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val result = Objects.isNull(after)
+                ? transactionService.findAll(pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : transactionService.findAllAfter(after, pageSize, sortBy, SortDirection.of(sortDir));
 
         return ResponseEntity.ok(mapPaged(result));
     }
@@ -59,14 +89,16 @@ public class TransactionController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
-
-        val customerModel = customerService.findById(tryParseInteger(customerId, "customerId"));
-
-        log.info("Calling: getAllTransactionsByCustomerV1 >> Customer fullName: ".concat(customerModel.getFullName()));
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals,
+            @RequestParam(required = false) String after) {
 
+        log.info("Calling: getAllTransactionsByCustomerV1 >> customerId: ".concat(customerId));
 
-        val result = transactionService.findAllByCustomer(customerModel, pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+        val id = tryParseInteger(customerId, "customerId");
+        val result = Objects.isNull(after)
+                ? transactionService.findAllByCustomerId(id, pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals)
+                : transactionService.findAllByCustomerIdAfter(id, after, pageSize, sortBy, SortDirection.of(sortDir));
 
         return ResponseEntity.ok(mapPaged(result));
     }
@@ -80,18 +112,17 @@ public class TransactionController {
             @RequestParam(defaultValue = "0") int pageNo,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotals) {
 
-        val customerModel = customerService.findById(tryParseInteger(customerId, "customerId"));
-
-        log.info("Calling: getAllByCustomerAndCreatedBeforeAndCreatedAfterV1 >> Customer: "
-                .concat(customerModel.toString())
+        log.info("Calling: getAllByCustomerAndCreatedBeforeAndCreatedAfterV1 >> customerId: "
+                .concat(customerId)
                 .concat(" | Created Before: ").concat(createdBefore)
                 .concat(" | Created After: ").concat(createdAfter));
 
-        val result = transactionService.findAllByCustomerAndCreatedBeforeAndCreatedAfter(customerModel,
+        val result = transactionService.findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(tryParseInteger(customerId, "customerId"),
                 new Date(tryParseLong(createdBefore, "createdBefore")),
-                new Date(tryParseLong(createdAfter, "createdAfter")), pageNo, pageSize, sortBy, SortDirection.of(sortDir));
+                new Date(tryParseLong(createdAfter, "createdAfter")), pageNo, pageSize, sortBy, SortDirection.of(sortDir), withTotals);
 
         log.info("result: ".concat(result.toString()));
 
@@ -99,21 +130,111 @@ public class TransactionController {
     }
 
 
+    @RequestMapping(value = "/v1/transactions/aggregate_by_customer/{customerId}", method = RequestMethod.GET)
+    private ResponseEntity<TransactionAggregateView> getTransactionAggregateByCustomerV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter) {
+
+        log.info("Calling: getTransactionAggregateByCustomerV1 >> customerId: "
+                .concat(customerId)
+                .concat(" | Created Before: ").concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        val id = tryParseInteger(customerId, "customerId");
+        val result = transactionService.aggregateByCustomerId(id,
+                StringUtils.isBlank(createdAfter) ? null : new Date(tryParseLong(createdAfter, "createdAfter")),
+                StringUtils.isBlank(createdBefore) ? null : new Date(tryParseLong(createdBefore, "createdBefore")));
+
+        return ResponseEntity.ok(TransactionAggregateView.builder()
+                .customerId(id)
+                .count(result.getCount())
+                .sum(result.getSum())
+                .min(result.getMin())
+                .max(result.getMax())
+                .average(result.getAverage())
+                .build());
+    }
+
+    @RequestMapping(value = "/v1/transactions/export_by_customer/{customerId}", method = RequestMethod.GET)
+    private void exportTransactionsByCustomerV1(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "") String createdBefore,
+            @RequestParam(defaultValue = "") String createdAfter,
+            HttpServletResponse response) throws IOException {
+
+        val customerModel = customerService.findById(tryParseInteger(customerId, "customerId"));
+
+        log.info("Calling: exportTransactionsByCustomerV1 >> Customer: "
+                .concat(customerModel.toString())
+                .concat(" | Created Before: ").concat(createdBefore)
+                .concat(" | Created After: ").concat(createdAfter));
+
+        val after = StringUtils.isBlank(createdAfter) ? null : new Date(tryParseLong(createdAfter, "createdAfter"));
+        val before = StringUtils.isBlank(createdBefore) ? null : new Date(tryParseLong(createdBefore, "createdBefore"));
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // one generator for the whole response; writing a row only fills the servlet buffer
+        val writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (val generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            val exported = transactionService.exportByCustomer(customerModel, after, before,
+                    transaction -> {
+                        try {
+                            writer.writeValue(generator, mapTransactionSummaryToTransactionView(transaction));
+                            generator.writeRaw('\n');
+                        } catch (final IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+
+            log.info("exported: ".concat(String.valueOf(exported)));
+        }
+    }
+
     @RequestMapping(value = "/v1/transactions/save", method = RequestMethod.POST)
-    private ResponseEntity<TransactionView> saveTransactionV1(@RequestBody TransactionView transaction) {
+    private ResponseEntity<TransactionView> saveTransactionV1(@RequestBody TransactionView transaction,
+                                                              @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
         log.info("Calling: saveTransactionV1 >> ".concat(transaction.toString()));
 
-        val customer = customerService.findById(transaction.getCustomerId());
+        val result = idempotencyStore.execute("save", idempotencyKey, fingerprint(idempotencyKey, transaction), () -> {
+            val customer = customerService.findById(transaction.getCustomerId());
 
-        val saved = transactionService.save(TransactionModel
-                .builder()
-                .id(transaction.getId())
-                .created(transaction.getCreated())
-                .amount(transaction.getAmount())
-                .customer(customer)
-                .build());
+            val saved = transactionService.save(TransactionModel
+                    .builder()
+                    .id(transaction.getId())
+                    .created(transaction.getCreated())
+                    .amount(transaction.getAmount())
+                    .customer(customer)
+                    .build());
+
+            return mapTransactionToTransactionView(saved);
+        });
 
-        return ResponseEntity.ok(mapTransactionToTransactionView(saved));
+        return idempotentResponse(result);
+    }
+
+    @RequestMapping(value = "/v1/transactions/save_batch", method = RequestMethod.POST)
+    private ResponseEntity<TransactionBatchView> saveTransactionBatchV1(@RequestBody List<TransactionView> transactions,
+                                                                        @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        log.info("Calling: saveTransactionBatchV1 >> size: ".concat(String.valueOf(transactions.size())));
+
+        val result = idempotencyStore.execute("save_batch", idempotencyKey, fingerprint(idempotencyKey, transactions), () -> mapBatch(transactionService.saveBatch(transactions
+                .stream()
+                .map(transaction -> TransactionModel
+                        .builder()
+                        .id(transaction.getId())
+                        .created(transaction.getCreated())
+                        .amount(transaction.getAmount())
+                        .customer(Objects.isNull(transaction.getCustomerId())
+                                ? null
+                                : CustomerModel.builder().id(transaction.getCustomerId()).build())
+                        .build())
+                .toList())));
+
+        return idempotentResponse(result);
     }
 
     @RequestMapping(value = "/v1/transactions/delete/{id}", method = RequestMethod.DELETE)
@@ -125,19 +246,84 @@ public class TransactionController {
         return ResponseEntity.ok(mapTransactionToTransactionView(result));
     }
 
+    @RequestMapping(value = "/v1/transactions/rebuild_daily_summary", method = RequestMethod.POST)
+    private ResponseEntity<DailySummaryRebuildView> rebuildDailySummaryV1() {
+        log.info("Calling: rebuildDailySummaryV1");
+
+        val result = customerDailySummaryService.rebuild();
+
+        return ResponseEntity.ok(DailySummaryRebuildView
+                .builder()
+                .numberOfCustomers(result.getCustomers())
+                .numberOfDays(result.getDays())
+                .build());
+    }
+
+
+    /**
+     * SHA-256 of the request body as this service serializes it, so formatting and field order do not matter; only
+     * computed when there is an idempotency key.
+     */
+    private byte[] fingerprint(String idempotencyKey, Object request) {
+        if (Objects.isNull(idempotencyKey)) {
+            return null;
+        }
+        try {
+            return IdempotencyStore.fingerprint(objectMapper.writeValueAsBytes(request));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 
-    private TransactionViewPagedData mapPaged(GenericPagedModel<TransactionModel> transactions) {
+    private static <T> ResponseEntity<T> idempotentResponse(IdempotentResult<T> result) {
+        return result.isReplayed()
+                ? ResponseEntity.ok().header(IdempotencyStore.REPLAYED_HEADER, "true").body(result.getContent())
+                : ResponseEntity.ok(result.getContent());
+    }
+
+    TransactionViewPagedData mapPaged(GenericPagedModel<TransactionSummary> transactions) {
         return TransactionViewPagedData
                 .builder()
                 .totalElements(transactions.getTotalElements())
                 .totalPages(transactions.getTotalPages())
                 .numberOfElements(transactions.getNumberOfElements())
-                .content(mapTransactionsCollectiontoTransactionViewList(transactions.getContent()))
+                .content(mapTransactionSummariesToTransactionViewList(transactions.getContent()))
+                .hasNext(transactions.getHasNext())
+                .nextCursor(transactions.getNextCursor())
                 .build();
     }
 
-    private List<TransactionView> mapTransactionsCollectiontoTransactionViewList(Collection<TransactionModel> transactionModels) {
-        return transactionModels.stream().map(this::mapTransactionToTransactionView).toList();
+    private TransactionBatchView mapBatch(List<BatchItemResult<TransactionModel>> results) {
+        val saved = (int) results.stream().filter(r -> Objects.nonNull(r.getContent())).count();
+        return TransactionBatchView
+                .builder()
+                .numberOfElements(results.size())
+                .numberOfSaved(saved)
+                .numberOfRejected(results.size() - saved)
+                .content(results.stream().map(this::mapBatchItemToBatchItemView).toList())
+                .build();
+    }
+
+    private TransactionBatchItemView mapBatchItemToBatchItemView(BatchItemResult<TransactionModel> result) {
+        return TransactionBatchItemView.builder()
+                .index(result.getIndex())
+                .status(result.getStatus())
+                .message(result.getMessage())
+                .transaction(Objects.isNull(result.getContent()) ? null : mapTransactionToTransactionView(result.getContent()))
+                .build();
+    }
+
+    private List<TransactionView> mapTransactionSummariesToTransactionViewList(Collection<TransactionSummary> transactionSummaries) {
+        return transactionSummaries.stream().map(this::mapTransactionSummaryToTransactionView).toList();
+    }
+
+    private TransactionView mapTransactionSummaryToTransactionView(TransactionSummary transactionSummary) {
+        return TransactionView.builder()
+                .amount(transactionSummary.getAmount())
+                .created(transactionSummary.getCreated())
+                .id(transactionSummary.getId())
+                .customerId(transactionSummary.getCustomerId())
+                .build();
     }
 
 
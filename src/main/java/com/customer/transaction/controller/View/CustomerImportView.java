@@ -0,0 +1,18 @@
+package com.customer.transaction.controller.View;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportView {
+    private long numberOfRows;
+    private long numberOfImported;
+    private long numberOfRejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private String rejectionFile;
+}
@@ -0,0 +1,14 @@
+package com.customer.transaction.controller.View;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySummaryRebuildView {
+    private long numberOfCustomers;
+    private long numberOfDays;
+}
@@ -0,0 +1,18 @@
+package com.customer.transaction.controller.View;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAggregateView {
+    private Integer customerId;
+    private long count;
+    private double sum;
+    private Double min;
+    private Double max;
+    private Double average;
+}
@@ -0,0 +1,16 @@
+package com.customer.transaction.controller.View;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemView {
+    private int index;
+    private int status;
+    private String message;
+    private TransactionView transaction;
+}
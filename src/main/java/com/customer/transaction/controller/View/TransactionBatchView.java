@@ -0,0 +1,18 @@
+package com.customer.transaction.controller.View;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchView {
+    private int numberOfElements;
+    private int numberOfSaved;
+    private int numberOfRejected;
+    private List<TransactionBatchItemView> content;
+}
@@ -1,5 +1,6 @@
 package com.customer.transaction.controller.View;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -11,8 +12,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TransactionViewPagedData {
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
     private long totalElements;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
     private int totalPages;
     private int numberOfElements;
     private List<TransactionView> content;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
@@ -0,0 +1,51 @@
+package com.customer.transaction.data.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * One row per customer and calendar day with at least one transaction, holding count, sum, min and max of that day's
+ * amounts. The rows are maintained by {@code CustomerDailySummaryService} and never written through this entity.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "customer_daily_summary", schema = "bank")
+@IdClass(CustomerDailySummaryModel.Key.class)
+@Entity
+public class CustomerDailySummaryModel {
+    @Id
+    @Column(name = "customer_id")
+    private Integer customerId;
+
+    @Id
+    @Temporal(TemporalType.DATE)
+    @Column(name = "summary_date")
+    private Date summaryDate;
+
+    @Column(name = "transaction_count")
+    private Long transactionCount;
+
+    @Column(name = "amount_sum")
+    private Double amountSum;
+
+    @Column(name = "amount_min")
+    private Double amountMin;
+
+    @Column(name = "amount_max")
+    private Double amountMax;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer customerId;
+        private Date summaryDate;
+    }
+}
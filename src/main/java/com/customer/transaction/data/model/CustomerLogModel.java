@@ -2,7 +2,9 @@ package com.customer.transaction.data.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -17,7 +19,9 @@ import java.util.Date;
 @Entity
 public class CustomerLogModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_log_seq")
+    @GenericGenerator(name = "customer_log_seq", strategy = "com.customer.transaction.data.util.PooledIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "customer_log_seq"))
     private Integer id;
 
     @Column(name = "old_version")
@@ -29,11 +33,16 @@ public class CustomerLogModel {
     @Column(name = "log_type")
     private String logType;
 
-    @CreationTimestamp
-    @Column(name = "created", insertable = false, updatable = false)
+    @Column(name = "created", updatable = false)
     private Date created;
 
     @Column(name = "customer_id")
     private Integer customerId;
 
+    @PrePersist
+    void prePersist() {
+        if (created == null) {
+            created = new Date();
+        }
+    }
 }
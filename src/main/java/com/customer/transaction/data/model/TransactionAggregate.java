@@ -0,0 +1,23 @@
+package com.customer.transaction.data.model;
+
+import lombok.*;
+
+/**
+ * Aggregate over the amounts of a set of transactions. {@code min}, {@code max} and {@code average} are {@code null}
+ * when {@code count} is 0.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAggregate {
+    public static final String SELECT = "select new com.customer.transaction.data.model.TransactionAggregate(count(t), sum(t.amount), min(t.amount), max(t.amount), avg(t.amount)) from TransactionModel t";
+
+    private Long count;
+    private Double sum;
+    private Double min;
+    private Double max;
+    private Double average;
+}
@@ -0,0 +1,24 @@
+package com.customer.transaction.data.model;
+
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Read-only row of a transaction listing. Selected with a constructor expression that reads the customer id from the
+ * {@code customer_id} column, so neither the customer table nor the persistence context is involved.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummary {
+    public static final String SELECT = "select new com.customer.transaction.data.model.TransactionSummary(t.id, t.amount, t.created, t.customer.id) from TransactionModel t";
+
+    private Integer id;
+    private Double amount;
+    private Date created;
+    private Integer customerId;
+}
@@ -0,0 +1,52 @@
+package com.customer.transaction.data.repository;
+import com.customer.transaction.data.model.CustomerDailySummaryModel;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Maintains {@code customer_daily_summary} with set based statements, so no summary row is ever loaded into the
+ * persistence context. All statements group the raw rows by {@code (customer_id, date(created))}.
+ */
+@Repository
+public interface CustomerDailySummaryRepository extends PagingAndSortingRepository<CustomerDailySummaryModel, CustomerDailySummaryModel.Key>, CustomerDailySummaryRepositoryCustom {
+    String INSERT = "insert into bank.customer_daily_summary (customer_id, summary_date, transaction_count, amount_sum, amount_min, amount_max) ";
+    String SELECT_DAYS = "select t.customer_id, date(t.created), count(*), sum(t.amount), min(t.amount), max(t.amount) from bank.transaction t";
+    String GROUP_BY_DAY = " group by t.customer_id, date(t.created)";
+
+    /**
+     * Adds freshly inserted transactions to their days. The grouped select is wrapped in a derived table because MySQL
+     * does not allow the {@code on duplicate key update} clause to refer to the columns of a grouped select.
+     */
+    @Modifying
+    @Query(value = INSERT + "select * from (select t.customer_id, date(t.created) as n_day, count(*) as n_count, sum(t.amount) as n_sum, min(t.amount) as n_min, max(t.amount) as n_max"
+            + " from bank.transaction t where t.id in (:ids)" + GROUP_BY_DAY + ") as n"
+            + " on duplicate key update transaction_count = transaction_count + n.n_count, amount_sum = amount_sum + n.n_sum,"
+            + " amount_min = least(amount_min, n.n_min), amount_max = greatest(amount_max, n.n_max)", nativeQuery = true)
+    int addTransactions(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "delete from bank.customer_daily_summary where customer_id = :customerId and summary_date = date(:day)", nativeQuery = true)
+    int deleteDay(@Param("customerId") Integer customerId, @Param("day") Date day);
+
+    @Modifying
+    @Query(value = INSERT + SELECT_DAYS + " where t.customer_id = :customerId and t.created >= date(:day) and t.created < date(:day) + interval 1 day"
+            + GROUP_BY_DAY, nativeQuery = true)
+    int insertDay(@Param("customerId") Integer customerId, @Param("day") Date day);
+
+    @Modifying
+    @Query(value = "delete from bank.customer_daily_summary where customer_id in (:customerIds)", nativeQuery = true)
+    int deleteCustomers(@Param("customerIds") Collection<Integer> customerIds);
+
+    @Modifying
+    @Query(value = INSERT + SELECT_DAYS + " where t.customer_id in (:customerIds)" + GROUP_BY_DAY, nativeQuery = true)
+    int insertCustomers(@Param("customerIds") Collection<Integer> customerIds);
+
+    @Modifying
+    @Query("delete from CustomerDailySummaryModel")
+    int deleteAllRows();
+}
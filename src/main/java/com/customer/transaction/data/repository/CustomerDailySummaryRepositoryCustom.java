@@ -0,0 +1,14 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+
+import java.util.Date;
+
+public interface CustomerDailySummaryRepositoryCustom {
+    /**
+     * Same result as {@link TransactionRepositoryCustom#aggregateByCustomerId}, but whole days inside the window are
+     * read from {@code customer_daily_summary} and only the rows of the partial first and last day from
+     * {@code transaction}, so the cost depends on the number of days rather than the number of transactions.
+     */
+    TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore);
+}
@@ -0,0 +1,89 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+
+import lombok.val;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import java.util.Date;
+import java.util.Objects;
+
+class CustomerDailySummaryRepositoryImpl implements CustomerDailySummaryRepositoryCustom {
+    @PersistenceContext
+    EntityManager entityManager;
+
+    /**
+     * The window is {@code createdAfter < created < createdBefore}. The days strictly between {@code date(createdAfter)}
+     * and {@code date(createdBefore)} lie completely inside it; the day of {@code createdAfter} and the day of
+     * {@code createdBefore} are only partially covered and are aggregated from the raw rows.
+     */
+    @Override
+    public TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        var days = "select coalesce(sum(s.transaction_count), 0), coalesce(sum(s.amount_sum), 0), min(s.amount_min), max(s.amount_max)"
+                + " from bank.customer_daily_summary s where s.customer_id = :customerId";
+        if (Objects.nonNull(createdAfter)) {
+            days = days.concat(" and s.summary_date > date(:createdAfter)");
+        }
+        if (Objects.nonNull(createdBefore)) {
+            days = days.concat(" and s.summary_date < date(:createdBefore)");
+        }
+        val aggregate = TransactionAggregate.builder().count(0L).sum(0.0).build();
+        merge(aggregate, query(days, customerId, createdAfter, createdBefore));
+
+        if (Objects.nonNull(createdAfter) || Objects.nonNull(createdBefore)) {
+            var edges = "select count(*), coalesce(sum(t.amount), 0), min(t.amount), max(t.amount)"
+                    + " from bank.transaction t where t.customer_id = :customerId";
+            if (Objects.nonNull(createdAfter)) {
+                edges = edges.concat(" and t.created > :createdAfter");
+            }
+            if (Objects.nonNull(createdBefore)) {
+                edges = edges.concat(" and t.created < :createdBefore");
+            }
+            if (Objects.nonNull(createdAfter) && Objects.nonNull(createdBefore)) {
+                edges = edges.concat(" and (t.created < date(:createdAfter) + interval 1 day or t.created >= date(:createdBefore))");
+            } else if (Objects.nonNull(createdAfter)) {
+                edges = edges.concat(" and t.created < date(:createdAfter) + interval 1 day");
+            } else {
+                edges = edges.concat(" and t.created >= date(:createdBefore)");
+            }
+            merge(aggregate, query(edges, customerId, createdAfter, createdBefore));
+        }
+
+        if (aggregate.getCount() == 0) {
+            aggregate.setSum(null);
+        } else {
+            aggregate.setAverage(aggregate.getSum() / aggregate.getCount());
+        }
+        return aggregate;
+    }
+
+    private Object[] query(String sql, Integer customerId, Date createdAfter, Date createdBefore) {
+        Query query = entityManager.createNativeQuery(sql).setParameter("customerId", customerId);
+        if (Objects.nonNull(createdAfter)) {
+            query.setParameter("createdAfter", createdAfter, TemporalType.TIMESTAMP);
+        }
+        if (Objects.nonNull(createdBefore)) {
+            query.setParameter("createdBefore", createdBefore, TemporalType.TIMESTAMP);
+        }
+        return (Object[]) query.getSingleResult();
+    }
+
+    /**
+     * Folds one {@code (count, sum, min, max)} row into {@code aggregate}.
+     */
+    private static void merge(TransactionAggregate aggregate, Object[] row) {
+        val count = ((Number) row[0]).longValue();
+        if (count == 0) {
+            return;
+        }
+        val min = ((Number) row[2]).doubleValue();
+        val max = ((Number) row[3]).doubleValue();
+        aggregate.setMin(Objects.isNull(aggregate.getMin()) ? min : Math.min(aggregate.getMin(), min));
+        aggregate.setMax(Objects.isNull(aggregate.getMax()) ? max : Math.max(aggregate.getMax(), max));
+        aggregate.setCount(aggregate.getCount() + count);
+        aggregate.setSum(aggregate.getSum() + ((Number) row[1]).doubleValue());
+    }
+}
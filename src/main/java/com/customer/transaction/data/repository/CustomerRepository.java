@@ -2,15 +2,45 @@ package com.customer.transaction.data.repository;
 import com.customer.transaction.data.model.CustomerModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface CustomerRepository extends PagingAndSortingRepository<CustomerModel, Integer> {
+public interface CustomerRepository extends PagingAndSortingRepository<CustomerModel, Integer>, CustomerRepositoryCustom {
     Page<CustomerModel> findAllByFullName(String fullName, Pageable pageable);
 
     Page<CustomerModel> findAllCustomersByBalanceBetween(double minBalance, double maxBalance, Pageable pageable);
 
+    Slice<CustomerModel> findSliceBy(Pageable pageable);
+
+    Slice<CustomerModel> findSliceByFullName(String fullName, Pageable pageable);
+
+    Slice<CustomerModel> findSliceCustomersByBalanceBetween(double minBalance, double maxBalance, Pageable pageable);
+
     boolean existsByPhoneNumber(String phoneNumber);
+
+    List<CustomerModel> findByIdGreaterThanOrderById(Integer after, Pageable pageable);
+
+    @Query("select c.phoneNumber from CustomerModel c where c.phoneNumber in :phoneNumbers")
+    List<String> findPhoneNumbersIn(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("select c.id from CustomerModel c where c.id > :after order by c.id")
+    List<Integer> findIdsAfter(@Param("after") Integer after, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update CustomerModel c set c.fullName = :fullName, c.phoneNumber = :phoneNumber where c.id = :id")
+    int updateDetails(@Param("id") Integer id, @Param("fullName") String fullName, @Param("phoneNumber") String phoneNumber);
+
+    @Modifying
+    @Query("update CustomerModel c set c.balance = c.balance + :delta where c.id = :id and c.balance + :delta >= 0")
+    int applyBalanceDelta(@Param("id") Integer id, @Param("delta") double delta);
 }
 
@@ -0,0 +1,11 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.util.KeysetCursor;
+import com.customer.transaction.util.SortDirection;
+
+import java.util.List;
+
+public interface CustomerRepositoryCustom {
+    List<CustomerModel> findAllAfter(KeysetCursor after, int limit, String sortBy, SortDirection sortDirection);
+}
@@ -0,0 +1,19 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.util.KeysetCursor;
+import com.customer.transaction.util.SortDirection;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public List<CustomerModel> findAllAfter(KeysetCursor after, int limit, String sortBy, SortDirection sortDirection) {
+        return KeysetQueries.findAllAfter(entityManager, CustomerModel.class, null, after, limit, sortBy, sortDirection);
+    }
+}
@@ -0,0 +1,85 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.util.KeysetCursor;
+import com.customer.transaction.util.SortDirection;
+import lombok.val;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Keyset (seek) pagination over any entity with an integer {@code id}: rows are ordered by {@code (sortBy, id)} and the
+ * next page starts strictly after the cursor's row with a {@code WHERE} on the same pair, so MySQL seeks the
+ * matching index instead of reading and discarding {@code OFFSET} rows.
+ */
+class KeysetQueries {
+    private static final String ID = "id";
+
+    static <T> List<T> findAllAfter(EntityManager entityManager, Class<T> entityClass,
+                                    BiFunction<CriteriaBuilder, Root<T>, Predicate> filter,
+                                    KeysetCursor after, int limit, String sortBy, SortDirection sortDirection) {
+        return findAllAfter(entityManager, entityClass, entityClass, (criteriaBuilder, root) -> root, filter, after, limit, sortBy, sortDirection);
+    }
+
+    /**
+     * Same as above, but selects {@code selection} (e.g. a constructor expression) instead of the entity.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T, R> List<R> findAllAfter(EntityManager entityManager, Class<T> entityClass, Class<R> resultClass,
+                                       BiFunction<CriteriaBuilder, Root<T>, Selection<? extends R>> selection,
+                                       BiFunction<CriteriaBuilder, Root<T>, Predicate> filter,
+                                       KeysetCursor after, int limit, String sortBy, SortDirection sortDirection) {
+        val attribute = entityManager.getMetamodel().entity(entityClass).getAttributes().stream()
+                .filter(a -> a.getName().equals(sortBy))
+                .findFirst()
+                .orElse(null);
+        if (Objects.isNull(attribute) || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sortBy: ".concat(String.valueOf(sortBy)).concat(" cannot be used with a cursor"));
+        }
+
+        val criteriaBuilder = entityManager.getCriteriaBuilder();
+        val query = criteriaBuilder.createQuery(resultClass);
+        val root = query.from(entityClass);
+        final Expression<Comparable> key = root.get(sortBy);
+        final Expression<Integer> id = root.get(ID);
+        val ascending = sortDirection.equals(SortDirection.Ascending);
+
+        val predicates = new ArrayList<Predicate>();
+        if (Objects.nonNull(filter)) {
+            predicates.add(filter.apply(criteriaBuilder, root));
+        }
+        if (Objects.nonNull(after)) {
+            final Comparable value = (Comparable) after.valueAs(attribute.getJavaType());
+            if (sortBy.equals(ID)) {
+                predicates.add(ascending ? criteriaBuilder.greaterThan(id, after.getId()) : criteriaBuilder.lessThan(id, after.getId()));
+            } else {
+                predicates.add(criteriaBuilder.or(
+                        ascending ? criteriaBuilder.greaterThan(key, value) : criteriaBuilder.lessThan(key, value),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(key, value),
+                                ascending ? criteriaBuilder.greaterThan(id, after.getId()) : criteriaBuilder.lessThan(id, after.getId()))));
+            }
+        }
+
+        query.select(selection.apply(criteriaBuilder, root))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(ascending
+                        ? List.of(criteriaBuilder.asc(key), criteriaBuilder.asc(id))
+                        : List.of(criteriaBuilder.desc(key), criteriaBuilder.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,14 +1,49 @@
 package com.customer.transaction.data.repository;
-import com.customer.transaction.data.model.CustomerModel;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends PagingAndSortingRepository<TransactionModel, Integer> {
-    Page<TransactionModel> findAllByCustomer(CustomerModel customerModel, Pageable pageable);
-    Page<TransactionModel> findAllByCustomerAndCreatedBeforeAndCreatedAfter(CustomerModel customerModel, Date createdBefore, Date createdAfter, Pageable pageable);
+public interface TransactionRepository extends PagingAndSortingRepository<TransactionModel, Integer>, TransactionRepositoryCustom {
+    String BY_CUSTOMER = " where t.customer.id = :customerId";
+    String BY_CUSTOMER_AND_CREATED = BY_CUSTOMER + " and t.created < :createdBefore and t.created > :createdAfter";
+
+    @Query(value = TransactionSummary.SELECT, countQuery = "select count(t) from TransactionModel t")
+    Page<TransactionSummary> findAllSummaries(Pageable pageable);
+
+    @Query(TransactionSummary.SELECT)
+    Slice<TransactionSummary> findSliceSummaries(Pageable pageable);
+
+    @Query(value = TransactionSummary.SELECT + BY_CUSTOMER, countQuery = "select count(t) from TransactionModel t" + BY_CUSTOMER)
+    Page<TransactionSummary> findAllSummariesByCustomerId(@Param("customerId") Integer customerId, Pageable pageable);
+
+    @Query(TransactionSummary.SELECT + BY_CUSTOMER)
+    Slice<TransactionSummary> findSliceSummariesByCustomerId(@Param("customerId") Integer customerId, Pageable pageable);
+
+    @Query(value = TransactionSummary.SELECT + BY_CUSTOMER_AND_CREATED, countQuery = "select count(t) from TransactionModel t" + BY_CUSTOMER_AND_CREATED)
+    Page<TransactionSummary> findAllSummariesByCustomerIdAndCreatedBeforeAndCreatedAfter(@Param("customerId") Integer customerId, @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(TransactionSummary.SELECT + BY_CUSTOMER_AND_CREATED)
+    Slice<TransactionSummary> findSliceSummariesByCustomerIdAndCreatedBeforeAndCreatedAfter(@Param("customerId") Integer customerId, @Param("createdBefore") Date createdBefore, @Param("createdAfter") Date createdAfter, Pageable pageable);
+
+    @Query(TransactionSummary.SELECT + " where t.id = :id")
+    Optional<TransactionSummary> findSummaryById(@Param("id") Integer id);
+
+    @Query(TransactionSummary.SELECT + " where t.id in :ids")
+    List<TransactionSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<TransactionModel> findWithLockById(Integer id);
 }
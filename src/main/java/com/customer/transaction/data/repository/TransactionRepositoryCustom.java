@@ -0,0 +1,28 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.util.KeysetCursor;
+import com.customer.transaction.util.SortDirection;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+    List<TransactionSummary> findAllAfter(KeysetCursor after, int limit, String sortBy, SortDirection sortDirection);
+
+    List<TransactionSummary> findAllByCustomerIdAfter(Integer customerId, KeysetCursor after, int limit, String sortBy, SortDirection sortDirection);
+
+    /**
+     * Streams a customer's transactions in id order, optionally limited to {@code createdAfter < created < createdBefore}.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<TransactionSummary> streamAllByCustomerId(Integer customerId, Date createdAfter, Date createdBefore, int fetchSize);
+
+    /**
+     * Count, sum, min, max and average amount of a customer's transactions in one aggregate query, with the same
+     * optional {@code created} window as {@link #streamAllByCustomerId}.
+     */
+    TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore);
+}
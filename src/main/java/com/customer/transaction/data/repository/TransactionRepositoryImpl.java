@@ -0,0 +1,82 @@
+package com.customer.transaction.data.repository;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.data.util.KeysetCursor;
+import com.customer.transaction.util.SortDirection;
+
+import lombok.val;
+import org.hibernate.jpa.QueryHints;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private static Selection<TransactionSummary> summary(CriteriaBuilder criteriaBuilder, Root<TransactionModel> root) {
+        return criteriaBuilder.construct(TransactionSummary.class,
+                root.get("id"), root.get("amount"), root.get("created"), root.get("customer").get("id"));
+    }
+
+    @Override
+    public List<TransactionSummary> findAllAfter(KeysetCursor after, int limit, String sortBy, SortDirection sortDirection) {
+        return KeysetQueries.findAllAfter(entityManager, TransactionModel.class, TransactionSummary.class,
+                TransactionRepositoryImpl::summary, null, after, limit, sortBy, sortDirection);
+    }
+
+    @Override
+    public List<TransactionSummary> findAllByCustomerIdAfter(Integer customerId, KeysetCursor after, int limit, String sortBy, SortDirection sortDirection) {
+        return KeysetQueries.findAllAfter(entityManager, TransactionModel.class, TransactionSummary.class,
+                TransactionRepositoryImpl::summary,
+                (criteriaBuilder, root) -> criteriaBuilder.equal(root.get("customer").get("id"), customerId),
+                after, limit, sortBy, sortDirection);
+    }
+
+    @Override
+    public Stream<TransactionSummary> streamAllByCustomerId(Integer customerId, Date createdAfter, Date createdBefore, int fetchSize) {
+        return byCustomerIdAndCreated(TransactionSummary.SELECT, " order by t.id", TransactionSummary.class, customerId, createdAfter, createdBefore)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        return byCustomerIdAndCreated(TransactionAggregate.SELECT, "", TransactionAggregate.class, customerId, createdAfter, createdBefore)
+                .getSingleResult();
+    }
+
+    /**
+     * {@code select} restricted to one customer and, when given, to {@code createdAfter < created < createdBefore}.
+     */
+    private <R> TypedQuery<R> byCustomerIdAndCreated(String select, String orderBy, Class<R> resultClass,
+                                                     Integer customerId, Date createdAfter, Date createdBefore) {
+        var jpql = select.concat(" where t.customer.id = :customerId");
+        if (Objects.nonNull(createdAfter)) {
+            jpql = jpql.concat(" and t.created > :createdAfter");
+        }
+        if (Objects.nonNull(createdBefore)) {
+            jpql = jpql.concat(" and t.created < :createdBefore");
+        }
+
+        val query = entityManager.createQuery(jpql.concat(orderBy), resultClass)
+                .setParameter("customerId", customerId);
+        if (Objects.nonNull(createdAfter)) {
+            query.setParameter("createdAfter", createdAfter);
+        }
+        if (Objects.nonNull(createdBefore)) {
+            query.setParameter("createdBefore", createdBefore);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,128 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.BalanceIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link BalanceIndex} of customer balances, enabled with {@code bank.customer.balance-index.enabled}. It is loaded from
+ * the customer table at start-up, {@code load-chunk-size} rows per query and sorted once, and kept up to date by the
+ * customer writes and ledger transactions of this node. Ledger deltas are applied after their database transaction
+ * commits, so a rollback never reaches the index. Writes made on other nodes show up after a restart.
+ */
+@Component
+@Slf4j
+public class CustomerBalanceIndex {
+    final CustomerRepository customerRepository;
+
+    final boolean enabled;
+    final int loadChunkSize;
+    final BalanceIndex index = new BalanceIndex();
+
+    @Autowired
+    public CustomerBalanceIndex(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                                @Value("${bank.customer.balance-index.enabled:false}") boolean enabled,
+                                @Value("${bank.customer.balance-index.load-chunk-size:10000}") int loadChunkSize) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.loadChunkSize = loadChunkSize;
+        meterRegistry.gauge("bank.customer.balance_index.size", index, BalanceIndex::size);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        val start = System.nanoTime();
+        var ids = new int[loadChunkSize];
+        var balances = new double[loadChunkSize];
+        var count = 0;
+        var after = 0;
+        while (true) {
+            val customers = customerRepository.findByIdGreaterThanOrderById(after, PageRequest.of(0, loadChunkSize));
+            if (customers.isEmpty()) {
+                break;
+            }
+            if (count + customers.size() > ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                balances = Arrays.copyOf(balances, ids.length);
+            }
+            for (val customer : customers) {
+                ids[count] = customer.getId();
+                balances[count++] = customer.getBalance();
+            }
+            after = customers.get(customers.size() - 1).getId();
+        }
+        index.putAll(ids, balances, count);
+        log.info("Customer balance index loaded: ".concat(String.valueOf(index.size())).concat(" customers in ")
+                .concat(String.valueOf((System.nanoTime() - start) / 1_000_000)).concat(" ms"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void put(CustomerModel customerModel) {
+        if (enabled && Objects.nonNull(customerModel.getId()) && Objects.nonNull(customerModel.getBalance())) {
+            index.put(customerModel.getId(), customerModel.getBalance());
+        }
+    }
+
+    public void remove(Integer id) {
+        if (enabled && Objects.nonNull(id)) {
+            index.remove(id);
+        }
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * Adds the balance deltas by customer id once the current database transaction commits, or right away outside of
+     * one.
+     */
+    public void addAfterCommit(Map<Integer, Double> deltas) {
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        val copy = Map.copyOf(deltas);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            copy.forEach(index::add);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                copy.forEach(index::add);
+            }
+        });
+    }
+
+    public int count(double minBalance, double maxBalance) {
+        return index.count(minBalance, maxBalance);
+    }
+
+    public int[] rangeByBalance(double minBalance, double maxBalance, int offset, int limit, boolean descending) {
+        return index.rangeByBalance(minBalance, maxBalance, offset, limit, descending);
+    }
+
+    public int[] rangeById(double minBalance, double maxBalance, int offset, int limit, boolean descending) {
+        return index.rangeById(minBalance, maxBalance, offset, limit, descending);
+    }
+}
@@ -0,0 +1,99 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of customers by id, evicted by size ({@code bank.customer-cache.maximum-size}) and by age
+ * ({@code expire-after-write-ms}). The age bound is what limits staleness across nodes; on this node every write to a
+ * customer invalidates its entry.
+ * <p>
+ * Entries are never handed out directly: every hit returns a copy, so callers can not change the cached state. An
+ * invalidation inside a database transaction is repeated after commit, otherwise a concurrent reader could cache the
+ * row as it was before the commit.
+ */
+@Component
+public class CustomerCache {
+    public static final String CACHE_NAME = "customers";
+
+    final boolean enabled;
+    final Cache<Integer, CustomerModel> cache;
+
+    @Autowired
+    public CustomerCache(MeterRegistry meterRegistry,
+                         @Value("${bank.customer-cache.enabled:true}") boolean enabled,
+                         @Value("${bank.customer-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${bank.customer-cache.expire-after-write-ms:30000}") long expireAfterWriteMillis) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CustomerModel get(Integer id, Function<Integer, CustomerModel> loader) {
+        if (!enabled || Objects.isNull(id)) {
+            return loader.apply(id);
+        }
+        return copyOf(cache.get(id, loader));
+    }
+
+    public void invalidate(Integer id) {
+        if (Objects.isNull(id)) {
+            return;
+        }
+        cache.invalidate(id);
+        afterCommit(() -> cache.invalidate(id));
+    }
+
+    public void invalidateAll(Collection<Integer> ids) {
+        cache.invalidateAll(ids);
+        afterCommit(() -> cache.invalidateAll(ids));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    private static CustomerModel copyOf(CustomerModel customerModel) {
+        return CustomerModel.builder()
+                .id(customerModel.getId())
+                .fullName(customerModel.getFullName())
+                .phoneNumber(customerModel.getPhoneNumber())
+                .balance(customerModel.getBalance())
+                .build();
+    }
+}
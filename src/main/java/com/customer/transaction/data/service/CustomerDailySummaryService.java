@@ -0,0 +1,109 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.TransactionAggregate;
+import com.customer.transaction.data.repository.CustomerDailySummaryRepository;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.RebuildResult;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Keeps the {@code customer_daily_summary} rollup in step with {@code transaction} when
+ * {@code bank.transaction.rollup.enabled} is set. The incremental updates run inside the caller's database transaction
+ * and only touch the days of the written rows: inserts are added to their day, any other change recomputes the day from
+ * the raw rows. {@link #rebuild()} recomputes everything and is meant for the backfill before the flag is switched on.
+ */
+@Service
+@Slf4j
+public class CustomerDailySummaryService {
+    final CustomerDailySummaryRepository customerDailySummaryRepository;
+    final CustomerRepository customerRepository;
+    final TransactionTemplate transactionTemplate;
+
+    final boolean enabled;
+    final int rebuildChunkSize;
+
+    @Autowired
+    public CustomerDailySummaryService(CustomerDailySummaryRepository customerDailySummaryRepository, CustomerRepository customerRepository, PlatformTransactionManager transactionManager,
+                                       @Value("${bank.transaction.rollup.enabled:false}") boolean enabled,
+                                       @Value("${bank.transaction.rollup.rebuild-chunk-size:500}") int rebuildChunkSize) {
+        this.customerDailySummaryRepository = customerDailySummaryRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds transactions that were just inserted and flushed to the rollup.
+     */
+    public void added(Collection<Integer> transactionIds) {
+        if (!enabled || transactionIds.isEmpty()) {
+            return;
+        }
+        customerDailySummaryRepository.addTransactions(transactionIds);
+    }
+
+    /**
+     * Recomputes the day of {@code created} of one customer after a transaction on that day was updated or deleted.
+     */
+    public void changed(Integer customerId, Date created) {
+        if (!enabled || Objects.isNull(customerId) || Objects.isNull(created)) {
+            return;
+        }
+        customerDailySummaryRepository.deleteDay(customerId, created);
+        customerDailySummaryRepository.insertDay(customerId, created);
+    }
+
+    public TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        return customerDailySummaryRepository.aggregateByCustomerId(customerId, createdAfter, createdBefore);
+    }
+
+    /**
+     * Recomputes the rollup of every customer from the raw rows, {@code bank.transaction.rollup.rebuild-chunk-size}
+     * customers per database transaction so no single transaction holds locks on the whole table.
+     */
+    public RebuildResult rebuild() {
+        var customers = 0L;
+        var days = 0L;
+        var after = 0;
+        while (true) {
+            val customerIds = customerRepository.findIdsAfter(after, PageRequest.of(0, rebuildChunkSize));
+            if (customerIds.isEmpty()) {
+                break;
+            }
+            days += Objects.requireNonNull(transactionTemplate.execute(status -> {
+                customerDailySummaryRepository.deleteCustomers(customerIds);
+                return customerDailySummaryRepository.insertCustomers(customerIds);
+            }));
+            customers += customerIds.size();
+            after = customerIds.get(customerIds.size() - 1);
+        }
+        log.info("Customer daily summary rebuilt: ".concat(String.valueOf(customers)).concat(" customers, ")
+                .concat(String.valueOf(days)).concat(" days"));
+        return RebuildResult.builder()
+                .customers(customers)
+                .days(days)
+                .build();
+    }
+
+    @Transactional
+    public void deleteAll() {
+        customerDailySummaryRepository.deleteAllRows();
+    }
+}
@@ -0,0 +1,327 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.CustomerLogModel;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.repository.CustomerLogRepository;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.CsvReader;
+import com.customer.transaction.data.util.ImportResult;
+import com.customer.transaction.data.validator.CustomerValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of customers from CSV rows of {@code full_name,phone_number,balance}; a first row with these names is a
+ * header and skipped. The input is read as a stream and only {@code bank.customer-import.chunk-size} rows are held at a
+ * time. Every row is validated with {@link CustomerValidator#validateAll}; each chunk then looks up its phone numbers
+ * with one query and inserts the new customers and their "inserted" logs in one database transaction, as JDBC batches.
+ * <p>
+ * A phone number repeated within a chunk is rejected against its first row; one repeated from an earlier chunk is
+ * already committed and rejected by the lookup, so the file never has to be indexed in memory. Rejected rows do not stop
+ * the import and are written, with line, status and reason, to a CSV file in {@code bank.customer-import.rejections-dir}.
+ * Chunks committed before an import fails stay imported.
+ */
+@Service
+@Timed("bank.service")
+@Slf4j
+public class CustomerImportService {
+    static final List<String> HEADER = List.of("full_name", "phone_number", "balance");
+    static final List<String> REJECTION_HEADER = List.of("line", "status", "message", "full_name", "phone_number", "balance");
+
+    final CustomerRepository customerRepository;
+    final CustomerLogRepository customerLogRepository;
+    final CustomerValidator customerValidator;
+    final PhoneNumberFilter phoneNumberFilter;
+    final CustomerNameIndex customerNameIndex;
+    final CustomerBalanceIndex customerBalanceIndex;
+    final ObjectMapper objectMapper;
+    final EntityManager entityManager;
+    final TransactionTemplate transactionTemplate;
+
+    final int chunkSize;
+    final Path rejectionsDir;
+
+    @Autowired
+    public CustomerImportService(CustomerRepository customerRepository, CustomerLogRepository customerLogRepository, CustomerValidator customerValidator, PhoneNumberFilter phoneNumberFilter, CustomerNameIndex customerNameIndex, CustomerBalanceIndex customerBalanceIndex, ObjectMapper objectMapper, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 @Value("${bank.customer-import.chunk-size:1000}") int chunkSize,
+                                 @Value("${bank.customer-import.rejections-dir:${java.io.tmpdir}}") String rejectionsDir) {
+        this.customerRepository = customerRepository;
+        this.customerLogRepository = customerLogRepository;
+        this.customerValidator = customerValidator;
+        this.phoneNumberFilter = phoneNumberFilter;
+        this.customerNameIndex = customerNameIndex;
+        this.customerBalanceIndex = customerBalanceIndex;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.rejectionsDir = Path.of(rejectionsDir);
+    }
+
+    public ImportResult importCsv(Reader csv) {
+        val start = System.nanoTime();
+        val reader = new CsvReader(csv instanceof BufferedReader ? csv : new BufferedReader(csv, 64 * 1024));
+        val chunk = new ArrayList<ImportRow>(chunkSize);
+        var rows = 0L;
+        var imported = 0L;
+
+        try (val rejections = new Rejections(rejectionsDir)) {
+            var record = read(reader);
+            if (Objects.nonNull(record) && isHeader(record)) {
+                record = read(reader);
+            }
+            for (; Objects.nonNull(record); record = read(reader)) {
+                rows++;
+                val row = parse(reader.recordLine(), record);
+                if (Objects.nonNull(row.status)) {
+                    rejections.write(row);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    imported += importChunk(chunk, rejections);
+                    chunk.clear();
+                }
+            }
+            imported += importChunk(chunk, rejections);
+
+            val elapsedNanos = System.nanoTime() - start;
+            val result = ImportResult.builder()
+                    .rows(rows)
+                    .imported(imported)
+                    .rejected(rejections.count)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .rowsPerSecond(rows / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9))
+                    .rejectionFile(Objects.isNull(rejections.file) ? null : rejections.file.toString())
+                    .build();
+            log.info("Customer import: ".concat(result.toString()));
+            return result;
+        }
+    }
+
+    /**
+     * Inserts the new customers of a chunk. When a concurrent save takes one of the phone numbers between the lookup
+     * and the insert, the unique key rolls the chunk back and it is retried once, now rejecting that row.
+     */
+    private long importChunk(List<ImportRow> chunk, Rejections rejections) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        for (int attempt = 1; ; attempt++) {
+            val rejected = new ArrayList<ImportRow>();
+            try {
+                val imported = Objects.requireNonNull(transactionTemplate.execute(status -> insertChunk(chunk, rejected)));
+                imported.forEach(customerNameIndex::put);
+                imported.forEach(customerBalanceIndex::put);
+                rejected.forEach(rejections::write);
+                return imported.size();
+            } catch (final DataIntegrityViolationException | PersistenceException ex) {
+                if (attempt == 2) {
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+                }
+                chunk.forEach(ImportRow::clearStatus);
+            }
+        }
+    }
+
+    private List<CustomerModel> insertChunk(List<ImportRow> chunk, List<ImportRow> rejected) {
+        val firstRows = new HashMap<String, ImportRow>(chunk.size() * 2);
+        val candidates = new ArrayList<ImportRow>(chunk.size());
+        for (val row : chunk) {
+            val first = firstRows.putIfAbsent(row.phoneNumber, row);
+            if (Objects.isNull(first)) {
+                candidates.add(row);
+            } else {
+                rejected.add(row.reject(HttpStatus.NOT_ACCEPTABLE, "phoneNumber: ".concat(row.phoneNumber)
+                        .concat(" duplicates line ").concat(String.valueOf(first.line))));
+            }
+        }
+
+        val existing = new HashSet<>(customerRepository.findPhoneNumbersIn(firstRows.keySet()));
+        val customers = new ArrayList<CustomerModel>(candidates.size());
+        for (val row : candidates) {
+            if (existing.contains(row.phoneNumber)) {
+                rejected.add(row.reject(HttpStatus.NOT_ACCEPTABLE, "phoneNumber: ".concat(row.phoneNumber).concat(" already exists")));
+            } else {
+                customers.add(row.customer());
+            }
+        }
+
+        customerRepository.saveAll(customers);
+        customers.forEach(c -> phoneNumberFilter.put(c.getPhoneNumber()));
+        val created = new Date(Instant.now().toEpochMilli());
+        customerLogRepository.saveAll(customers.stream()
+                .map(saved -> CustomerLogModel.builder()
+                        .customerId(saved.getId())
+                        .newVersion(toJson(saved))
+                        .logType("inserted")
+                        .oldVersion(null)
+                        .created(created)
+                        .build())
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+        return customers;
+    }
+
+    private ImportRow parse(long line, List<String> record) {
+        val row = new ImportRow(line, record);
+        if (record.size() != HEADER.size()) {
+            return row.reject(HttpStatus.BAD_REQUEST, "expected ".concat(String.valueOf(HEADER.size()))
+                    .concat(" fields: ").concat(String.join(",", HEADER)));
+        }
+        row.fullName = record.get(0);
+        row.phoneNumber = record.get(1);
+        val balance = StringUtils.trimToNull(record.get(2));
+        if (Objects.nonNull(balance)) {
+            try {
+                row.balance = Double.parseDouble(balance);
+            } catch (final NumberFormatException ex) {
+                return row.reject(HttpStatus.NOT_ACCEPTABLE, "balance:".concat(balance));
+            }
+        }
+        val errors = customerValidator.validateAll(row.customer());
+        return errors.isEmpty()
+                ? row
+                : row.reject(HttpStatus.BAD_REQUEST, String.join("; ", errors));
+    }
+
+    private static boolean isHeader(List<String> record) {
+        return record.size() == HEADER.size() && HEADER.get(0).equalsIgnoreCase(StringUtils.trim(record.get(0)));
+    }
+
+    private static List<String> read(CsvReader reader) {
+        try {
+            return reader.next();
+        } catch (final IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read CSV: ".concat(String.valueOf(ex.getMessage())));
+        }
+    }
+
+    private String toJson(CustomerModel customerModel) {
+        try {
+            return objectMapper.writeValueAsString(customerModel);
+        } catch (final JsonProcessingException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+    static class ImportRow {
+        final long line;
+        final List<String> fields;
+
+        String fullName;
+        String phoneNumber;
+        Double balance;
+
+        HttpStatus status;
+        String message;
+
+        ImportRow(long line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+
+        ImportRow reject(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+            return this;
+        }
+
+        void clearStatus() {
+            this.status = null;
+            this.message = null;
+        }
+
+        CustomerModel customer() {
+            return CustomerModel.builder()
+                    .fullName(fullName)
+                    .phoneNumber(phoneNumber)
+                    .balance(balance)
+                    .build();
+        }
+    }
+
+    /**
+     * The rejection file, only created once the first row is rejected.
+     */
+    static class Rejections implements Closeable {
+        final Path dir;
+
+        Path file;
+        BufferedWriter writer;
+        long count;
+
+        Rejections(Path dir) {
+            this.dir = dir;
+        }
+
+        void write(ImportRow row) {
+            try {
+                if (Objects.isNull(writer)) {
+                    file = Files.createTempFile(dir, "customer-import-", "-rejections.csv");
+                    writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                    writeRecord(REJECTION_HEADER);
+                }
+                val record = new ArrayList<String>(REJECTION_HEADER.size());
+                record.add(String.valueOf(row.line));
+                record.add(String.valueOf(row.status.value()));
+                record.add(row.message);
+                record.addAll(row.fields);
+                writeRecord(record);
+                count++;
+            } catch (final IOException ex) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+            }
+        }
+
+        private void writeRecord(List<String> record) throws IOException {
+            writer.write(CsvReader.format(record));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() {
+            if (Objects.isNull(writer)) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (final IOException ex) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.customer.transaction.data.repository.CustomerLogRepository;
 import com.customer.transaction.data.repository.CustomerRepository;
 import com.customer.transaction.data.util.GenericPagedModel;
 import com.customer.transaction.util.SortDirection;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -23,6 +24,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.util.Date;
 
 @Service
+@Timed("bank.service")
 @Slf4j
 public class CustomerLogService {
     final CustomerLogRepository customerLogRepository;
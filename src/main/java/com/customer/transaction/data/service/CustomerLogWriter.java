@@ -0,0 +1,202 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.CustomerLogModel;
+import com.customer.transaction.data.repository.CustomerLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Writes {@link CustomerLogModel} rows either synchronously on the caller's thread or, with
+ * {@code bank.customer-log.write-behind.enabled}, through a bounded queue drained by a single background writer that
+ * inserts the rows in batches of at most {@code flush-size}, at the latest {@code flush-interval-ms} after the first
+ * row of a batch was queued.
+ * <p>
+ * A full queue applies backpressure: the caller waits up to {@code offer-timeout-ms} for space and then writes its row
+ * itself. A batch that fails to insert is retried once and then inserted row by row, so one bad row only loses itself.
+ * Rows keep the time they were written, not the time of the flush. On shutdown the writer stops taking new rows, rows
+ * written from then on are inserted on the caller's thread, and everything still queued is drained before the
+ * repository goes away.
+ */
+@Component
+@Slf4j
+public class CustomerLogWriter {
+    final CustomerLogRepository customerLogRepository;
+
+    final boolean writeBehindEnabled;
+    final int flushSize;
+    final long flushIntervalMillis;
+    final long offerTimeoutMillis;
+
+    final BlockingQueue<CustomerLogModel> queue;
+    final Timer flushTimer;
+    final Counter backpressureCounter;
+    final Counter failureCounter;
+
+    // writers hold the read lock from checking running until their row is queued, so stop() cannot miss a row
+    private final ReentrantReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public CustomerLogWriter(CustomerLogRepository customerLogRepository, MeterRegistry meterRegistry,
+                             @Value("${bank.customer-log.write-behind.enabled:false}") boolean writeBehindEnabled,
+                             @Value("${bank.customer-log.write-behind.capacity:10000}") int capacity,
+                             @Value("${bank.customer-log.write-behind.flush-size:200}") int flushSize,
+                             @Value("${bank.customer-log.write-behind.flush-interval-ms:200}") long flushIntervalMillis,
+                             @Value("${bank.customer-log.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis) {
+        this.customerLogRepository = customerLogRepository;
+        this.writeBehindEnabled = writeBehindEnabled;
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushTimer = Timer.builder("bank.customer_log.write_behind.flush")
+                .description("Time to insert one batch of queued customer logs")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.backpressureCounter = Counter.builder("bank.customer_log.write_behind.backpressure")
+                .description("Customer logs written on the caller thread because the queue was full")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("bank.customer_log.write_behind.failures")
+                .description("Customer logs that could not be inserted, even one by one")
+                .register(meterRegistry);
+        meterRegistry.gauge("bank.customer_log.write_behind.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!writeBehindEnabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "customer-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void write(CustomerLogModel customerLogModel) {
+        if (Objects.isNull(customerLogModel.getCreated())) {
+            customerLogModel.setCreated(new Date());
+        }
+        if (!enqueue(customerLogModel)) {
+            customerLogRepository.save(customerLogModel);
+        }
+    }
+
+    private boolean enqueue(CustomerLogModel customerLogModel) {
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (queue.offer(customerLogModel, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            backpressureCounter.increment();
+            return false;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void drain() {
+        val batch = new ArrayList<CustomerLogModel>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                val first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    val remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    val next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (final InterruptedException ex) {
+                flush(batch);
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<CustomerLogModel> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                flushTimer.record(() -> customerLogRepository.saveAll(batch));
+                return;
+            } catch (final RuntimeException ex) {
+                log.warn("Failed to write ".concat(String.valueOf(batch.size())).concat(" customer logs, attempt ")
+                        .concat(String.valueOf(attempt)), ex);
+                // the rolled back insert may have assigned ids, which would turn the next save into a merge
+                batch.forEach(customerLogModel -> customerLogModel.setId(null));
+            }
+        }
+        for (val customerLogModel : batch) {
+            try {
+                customerLogRepository.save(customerLogModel);
+            } catch (final RuntimeException ex) {
+                failureCounter.increment();
+                log.error("Failed to write customer log: ".concat(customerLogModel.toString()), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        runningLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+
+        val remaining = new ArrayList<CustomerLogModel>(queue.size());
+        queue.drainTo(remaining);
+        flush(remaining);
+        log.info("Customer log writer stopped, drained ".concat(String.valueOf(remaining.size())).concat(" late logs"));
+    }
+}
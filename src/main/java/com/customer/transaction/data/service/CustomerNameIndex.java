@@ -0,0 +1,84 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.NameIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Objects;
+
+/**
+ * {@link NameIndex} of customer full names, enabled with {@code bank.customer.name-index.enabled}. It is loaded from
+ * the customer table at start-up, {@code load-chunk-size} rows per query, and kept up to date by the customer writes
+ * of this node. Writes made on other nodes show up after a restart; hits are read back from the table, so a customer
+ * deleted elsewhere is never returned.
+ */
+@Component
+@Slf4j
+public class CustomerNameIndex {
+    final CustomerRepository customerRepository;
+
+    final boolean enabled;
+    final int loadChunkSize;
+    final NameIndex index = new NameIndex();
+
+    @Autowired
+    public CustomerNameIndex(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                             @Value("${bank.customer.name-index.enabled:false}") boolean enabled,
+                             @Value("${bank.customer.name-index.load-chunk-size:10000}") int loadChunkSize) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.loadChunkSize = loadChunkSize;
+        meterRegistry.gauge("bank.customer.name_index.size", index, NameIndex::size);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        val start = System.nanoTime();
+        var after = 0;
+        while (true) {
+            val customers = customerRepository.findByIdGreaterThanOrderById(after, PageRequest.of(0, loadChunkSize));
+            if (customers.isEmpty()) {
+                break;
+            }
+            customers.forEach(this::put);
+            after = customers.get(customers.size() - 1).getId();
+        }
+        log.info("Customer name index loaded: ".concat(String.valueOf(index.size())).concat(" customers in ")
+                .concat(String.valueOf((System.nanoTime() - start) / 1_000_000)).concat(" ms"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void put(CustomerModel customerModel) {
+        if (enabled && Objects.nonNull(customerModel.getId())) {
+            index.put(customerModel.getId(), customerModel.getFullName());
+        }
+    }
+
+    public void remove(Integer id) {
+        if (enabled && Objects.nonNull(id)) {
+            index.remove(id);
+        }
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    public int[] search(String name, int limit) {
+        return index.search(name, limit);
+    }
+}
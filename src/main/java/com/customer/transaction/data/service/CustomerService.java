@@ -2,129 +2,261 @@ package com.customer.transaction.data.service;
 
 import com.customer.transaction.data.model.CustomerLogModel;
 import com.customer.transaction.data.model.CustomerModel;
-import com.customer.transaction.data.repository.CustomerLogRepository;
 import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.CustomerDiff;
 import com.customer.transaction.data.util.GenericPagedModel;
+import com.customer.transaction.data.util.KeysetCursor;
 import com.customer.transaction.data.validator.CustomerValidator;
 import com.customer.transaction.util.SortDirection;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.val;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 
 @Service
+@Timed("bank.service")
 public class CustomerService {
+    static final Set<String> BALANCE_INDEX_SORTS = Set.of("balance", "id");
+
     final CustomerRepository customerRepository;
-    final CustomerLogRepository customerLogRepository;
+    final CustomerLogWriter customerLogWriter;
     final CustomerValidator customerValidator;
+    final CustomerCache customerCache;
+    final PhoneNumberFilter phoneNumberFilter;
+    final CustomerNameIndex customerNameIndex;
+    final CustomerBalanceIndex customerBalanceIndex;
 
     final ObjectMapper objectMapper;
 
+    final boolean diffLogFormat;
+    final boolean ledgerEnabled;
+    final int searchMaxLimit;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository, CustomerLogRepository customerLogRepository, CustomerValidator customerValidator, ObjectMapper objectMapper) {
+    public CustomerService(CustomerRepository customerRepository, CustomerLogWriter customerLogWriter, CustomerValidator customerValidator, CustomerCache customerCache, PhoneNumberFilter phoneNumberFilter, CustomerNameIndex customerNameIndex, CustomerBalanceIndex customerBalanceIndex, ObjectMapper objectMapper,
+                           @Value("${bank.customer-log.format:full}") String logFormat,
+                           @Value("${bank.transaction.ledger.enabled:false}") boolean ledgerEnabled,
+                           @Value("${bank.customer.name-index.max-limit:100}") int searchMaxLimit) {
         this.customerRepository = customerRepository;
-        this.customerLogRepository = customerLogRepository;
+        this.customerLogWriter = customerLogWriter;
         this.customerValidator = customerValidator;
+        this.customerCache = customerCache;
+        this.phoneNumberFilter = phoneNumberFilter;
+        this.customerNameIndex = customerNameIndex;
+        this.customerBalanceIndex = customerBalanceIndex;
         this.objectMapper = objectMapper;
+        this.diffLogFormat = "diff".equalsIgnoreCase(logFormat);
+        this.ledgerEnabled = ledgerEnabled;
+        this.searchMaxLimit = searchMaxLimit;
     }
 
     public CustomerModel findById(Integer id) {
-        return getCustomer(id);
+        return customerCache.get(id, this::getCustomer);
     }
 
     public GenericPagedModel<CustomerModel> findAll(int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAll(page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<CustomerModel> findAll(int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? customerRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : customerRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            Slice<CustomerModel> result = withTotals
+                    ? customerRepository.findAll(pageable)
+                    : customerRepository.findSliceBy(pageable);
             if (result.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
             }
 
-            return GenericPagedModel.<CustomerModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
-                    .build();
+            return GenericPagedModel.of(result);
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
 
+    public GenericPagedModel<CustomerModel> findAllAfter(String after, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            if (size < 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pageSize must be greater than 0");
+            }
+            val result = customerRepository.findAllAfter(KeysetCursor.decode(after, sortBy), size + 1, sortBy, sortDirection);
+            if (result.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
+            }
+
+            return GenericPagedModel.ofKeyset(result, size, c -> KeysetCursor.after(c, sortBy, c.getId()));
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
     public GenericPagedModel<CustomerModel> findAllCustomersByBalanceBetween(double minBalance, double maxBalance, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllCustomersByBalanceBetween(minBalance, maxBalance, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<CustomerModel> findAllCustomersByBalanceBetween(double minBalance, double maxBalance, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? customerRepository.findAllCustomersByBalanceBetween(minBalance, maxBalance, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : customerRepository.findAllCustomersByBalanceBetween(minBalance, maxBalance, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            if (customerBalanceIndex.isEnabled() && BALANCE_INDEX_SORTS.contains(sortBy)) {
+                return findAllCustomersByBalanceBetweenInIndex(minBalance, maxBalance, pageable.getOffset(), size, sortBy, sortDirection, withTotals);
+            }
+            Slice<CustomerModel> result = withTotals
+                    ? customerRepository.findAllCustomersByBalanceBetween(minBalance, maxBalance, pageable)
+                    : customerRepository.findSliceCustomersByBalanceBetween(minBalance, maxBalance, pageable);
             if (result.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Min:".concat(String.valueOf(minBalance)).concat(" Max:").concat(String.valueOf(maxBalance)));
             }
-            return GenericPagedModel.<CustomerModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
-                    .build();
+            return GenericPagedModel.of(result);
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
 
+    /**
+     * A balance range page from the {@link CustomerBalanceIndex}: the range is counted and paged in memory and only the
+     * customers of the page are read from the table, by id.
+     */
+    private GenericPagedModel<CustomerModel> findAllCustomersByBalanceBetweenInIndex(double minBalance, double maxBalance, long offset, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
+        val count = customerBalanceIndex.count(minBalance, maxBalance);
+        val descending = sortDirection.equals(SortDirection.Descending);
+        val ids = offset >= count
+                ? new int[0]
+                : "balance".equals(sortBy)
+                ? customerBalanceIndex.rangeByBalance(minBalance, maxBalance, (int) offset, size, descending)
+                : customerBalanceIndex.rangeById(minBalance, maxBalance, (int) offset, size, descending);
+        val result = findAllByIdInOrder(ids);
+        if (result.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Min:".concat(String.valueOf(minBalance)).concat(" Max:").concat(String.valueOf(maxBalance)));
+        }
+        val builder = GenericPagedModel.<CustomerModel>builder()
+                .numberOfElements(result.size())
+                .content(result);
+        return withTotals
+                ? builder.totalElements(count).totalPages((count + size - 1) / size).build()
+                : builder.hasNext(offset + size < count).build();
+    }
+
     public GenericPagedModel<CustomerModel> findAllByFullName(String fullName, int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAllByFullName(fullName, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<CustomerModel> findAllByFullName(String fullName, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? customerRepository.findAllByFullName(fullName, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : customerRepository.findAllByFullName(fullName, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            Slice<CustomerModel> result = withTotals
+                    ? customerRepository.findAllByFullName(fullName, pageable)
+                    : customerRepository.findSliceByFullName(fullName, pageable);
             if (result.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "fullName:".concat(fullName));
             }
+            return GenericPagedModel.of(result);
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+
+    /**
+     * The best {@code limit} customers for a partial or misspelled name from the {@link CustomerNameIndex}, best match
+     * first. The hits are read from the table by id.
+     */
+    public GenericPagedModel<CustomerModel> searchByFullName(String fullName, int limit) {
+        try {
+            if (!customerNameIndex.isEnabled()) {
+                throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, "bank.customer.name-index.enabled is false");
+            }
+            if (limit < 1 || limit > searchMaxLimit) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "limit must be between 1 and ".concat(String.valueOf(searchMaxLimit)));
+            }
+            val result = findAllByIdInOrder(customerNameIndex.search(fullName, limit));
+            if (result.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "fullName:".concat(fullName));
+            }
             return GenericPagedModel.<CustomerModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
+                    .numberOfElements(result.size())
+                    .content(result)
                     .build();
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
+    /**
+     * The customers with {@code ids} in that order, read with one query; ids that no longer exist are left out.
+     */
+    private List<CustomerModel> findAllByIdInOrder(int[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        val found = StreamSupport.stream(customerRepository.findAllById(Arrays.stream(ids).boxed().toList()).spliterator(), false)
+                .collect(Collectors.toMap(CustomerModel::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
+    /**
+     * Creates a customer, or updates it when it has the id of an existing one; in ledger mode an update keeps the stored
+     * balance. Phone numbers are kept unique by the {@code phone_number} unique key: a violation, also from a concurrent
+     * create, is answered with 406. Only numbers the {@link PhoneNumberFilter} might have seen are looked up before the
+     * insert.
+     */
     public CustomerModel save(CustomerModel customerModel) {
         try {
             customerValidator.validate(customerModel);
-            if (customerRepository.existsByPhoneNumber(customerModel.getPhoneNumber()) && Objects.isNull(customerModel.getId())) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "phoneNumber: ".concat(customerModel.getPhoneNumber()).concat(" already exists"));
-            }
             if (Objects.nonNull(customerModel.getId())) {
                 val found = customerRepository.findById(customerModel.getId()).orElse(null);
                 if (Objects.nonNull(found)) {
-                    if (objectMapper.writeValueAsString(customerModel).equals(objectMapper.writeValueAsString(found))) {
+                    if (ledgerEnabled) {
+                        customerModel.setBalance(found.getBalance());
+                    }
+                    val changedFields = CustomerDiff.changedFields(found, customerModel);
+                    if (changedFields == CustomerDiff.NONE) {
                         return customerModel;
                     }
-                    val saved = customerRepository.save(customerModel);
-                    val oldVersion = objectMapper.writeValueAsString(found);
-                    val newVersion = objectMapper.writeValueAsString(saved);
-                    customerLogRepository.save(CustomerLogModel.builder()
+                    val saved = saveCustomer(customerModel);
+                    customerCache.invalidate(saved.getId());
+                    val oldVersion = diffLogFormat
+                            ? objectMapper.writeValueAsString(CustomerDiff.changedValues(found, changedFields))
+                            : objectMapper.writeValueAsString(found);
+                    val newVersion = diffLogFormat
+                            ? objectMapper.writeValueAsString(CustomerDiff.changedValues(saved, changedFields))
+                            : objectMapper.writeValueAsString(saved);
+                    customerLogWriter.write(CustomerLogModel.builder()
                             .oldVersion(oldVersion)
                             .newVersion(newVersion)
                             .customerId(saved.getId())
@@ -134,8 +266,14 @@ public class CustomerService {
                     return saved;
                 }
             } else {
-                val saved = customerRepository.save(customerModel);
-                customerLogRepository.save(CustomerLogModel.builder()
+                if (phoneNumberFilter.mightContain(customerModel.getPhoneNumber())) {
+                    if (customerRepository.existsByPhoneNumber(customerModel.getPhoneNumber())) {
+                        throw phoneNumberExists(customerModel.getPhoneNumber());
+                    }
+                    phoneNumberFilter.falsePositive();
+                }
+                val saved = saveCustomer(customerModel);
+                customerLogWriter.write(CustomerLogModel.builder()
                         .customerId(saved.getId())
                         .newVersion(objectMapper.writeValueAsString(saved))
                         .logType("inserted")
@@ -150,6 +288,47 @@ public class CustomerService {
         }
     }
 
+    private CustomerModel saveCustomer(CustomerModel customerModel) {
+        try {
+            val saved = ledgerEnabled && Objects.nonNull(customerModel.getId())
+                    ? updateDetails(customerModel)
+                    : customerRepository.save(customerModel);
+            phoneNumberFilter.put(saved.getPhoneNumber());
+            customerNameIndex.put(saved);
+            customerBalanceIndex.put(saved);
+            return saved;
+        } catch (final DataIntegrityViolationException ex) {
+            if (isPhoneNumberViolation(ex)) {
+                phoneNumberFilter.put(customerModel.getPhoneNumber());
+                throw phoneNumberExists(customerModel.getPhoneNumber());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Ledger mode: the balance only changes through transactions, so an update writes the other fields and leaves the
+     * stored balance, including deltas committed since the caller read the customer, as it is.
+     */
+    private CustomerModel updateDetails(CustomerModel customerModel) {
+        customerRepository.updateDetails(customerModel.getId(), customerModel.getFullName(), customerModel.getPhoneNumber());
+        return getCustomer(customerModel.getId());
+    }
+
+    /**
+     * MySQL names the violated key in the message ({@code Duplicate entry '...' for key 'customer.phone_number'}), as
+     * does H2.
+     */
+    private static boolean isPhoneNumberViolation(DataIntegrityViolationException ex) {
+        val message = ExceptionUtils.getRootCauseMessage(ex);
+        return Objects.nonNull(message) && message.toLowerCase().contains("phone_number");
+    }
+
+    private static ResponseStatusException phoneNumberExists(String phoneNumber) {
+        return new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                "phoneNumber: ".concat(phoneNumber).concat(" already exists"));
+    }
+
     public CustomerModel hardDelete(Integer id) {
         try {
             val customerToHardDelete = getCustomer(id);
@@ -157,8 +336,11 @@ public class CustomerService {
             val oldVersion = objectMapper.writeValueAsString(customerToHardDelete);
 
             customerRepository.delete(customerToHardDelete);
+            customerCache.invalidate(id);
+            customerNameIndex.remove(id);
+            customerBalanceIndex.remove(id);
 
-            customerLogRepository.save(CustomerLogModel.builder()
+            customerLogWriter.write(CustomerLogModel.builder()
                     .logType("deleted")
                     .oldVersion(oldVersion)
                     .newVersion(null)
@@ -191,6 +373,9 @@ public class CustomerService {
     public void hardDeleteAll() {
         try {
             customerRepository.deleteAll();
+            customerCache.invalidateAll();
+            customerNameIndex.clear();
+            customerBalanceIndex.clear();
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
         }
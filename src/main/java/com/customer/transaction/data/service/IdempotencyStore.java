@@ -0,0 +1,187 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.util.IdempotentResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Results of requests by their {@code Idempotency-Key}, kept for {@code bank.transaction.idempotency.ttl-ms} after the
+ * first request. The first request with a key runs and records its result; a replay returns that result without
+ * running again, and a duplicate arriving while the first is still running waits for it, at most
+ * {@code wait-timeout-ms}. A key reused with a different request, told apart by the SHA-256 {@link #fingerprint} of
+ * the request, is rejected with 422.
+ * <p>
+ * Running requests are held in a map of their own that nothing evicts, so a duplicate always finds them. Only the
+ * finished results are bounded by {@code maximum-size}: when the store is full the oldest results are evicted before
+ * their ttl and a retry of one of those runs again. That is counted in
+ * {@code bank.transaction.idempotency.evicted_before_ttl} and logged once as a warning; {@code maximum-size} has to
+ * cover the requests of one ttl.
+ * <p>
+ * When the first request fails, its waiters get the same error and nothing is recorded, so a retry runs again. The
+ * store is per node, so a retry that reaches another node is not recognized.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String CACHE_NAME = "idempotency-keys";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    final boolean enabled;
+    final long waitTimeoutMillis;
+    final long maximumSize;
+    final Map<String, Execution> running = new ConcurrentHashMap<>();
+    final Cache<String, Execution> completed;
+    final Counter evictedBeforeTtl;
+    final AtomicBoolean fullWarned = new AtomicBoolean();
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${bank.transaction.idempotency.enabled:true}") boolean enabled,
+                            @Value("${bank.transaction.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${bank.transaction.idempotency.ttl-ms:86400000}") long ttlMillis,
+                            @Value("${bank.transaction.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this.enabled = enabled;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maximumSize = maximumSize;
+        this.evictedBeforeTtl = Counter.builder("bank.transaction.idempotency.evicted_before_ttl")
+                .description("Idempotency keys dropped before their ttl because the store was full")
+                .register(meterRegistry);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .evictionListener((String key, Execution execution, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evicted();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, CACHE_NAME);
+        meterRegistry.gauge("bank.transaction.idempotency.running", running, Map::size);
+    }
+
+    /**
+     * SHA-256 of the serialized request, to pass to {@link #execute}.
+     */
+    public static byte[] fingerprint(byte[] request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(request);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Runs {@code action} once per {@code scope} and {@code key}; without a key it just runs. {@code fingerprint}
+     * identifies the request, so that a key can not be replayed for a different one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> IdempotentResult<T> execute(String scope, String key, byte[] fingerprint, Supplier<T> action) {
+        if (!enabled || Objects.isNull(key)) {
+            return IdempotentResult.<T>builder().content(action.get()).build();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER.concat(" must have 1 to ").concat(String.valueOf(MAX_KEY_LENGTH)).concat(" characters"));
+        }
+
+        val cacheKey = scope.concat(":").concat(key);
+        var existing = completed.getIfPresent(cacheKey);
+        if (Objects.isNull(existing)) {
+            val execution = new Execution(fingerprint);
+            existing = running.putIfAbsent(cacheKey, execution);
+            if (Objects.isNull(existing)) {
+                // a request with this key may have finished between the two lookups
+                existing = completed.getIfPresent(cacheKey);
+                if (Objects.isNull(existing)) {
+                    return run(cacheKey, execution, action);
+                }
+                running.remove(cacheKey, execution);
+            }
+        }
+
+        if (!MessageDigest.isEqual(existing.fingerprint, fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER.concat(": ").concat(key).concat(" was already used for a different request"));
+        }
+        try {
+            return IdempotentResult.<T>builder()
+                    .content((T) existing.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS))
+                    .replayed(true)
+                    .build();
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, String.valueOf(ex.getCause()));
+        } catch (final TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    HEADER.concat(": ").concat(key).concat(" is still in progress"));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for ".concat(HEADER));
+        }
+    }
+
+    /**
+     * Runs the first request with a key; its result is recorded before the key leaves {@link #running}, so a duplicate
+     * always finds one of the two.
+     */
+    private <T> IdempotentResult<T> run(String cacheKey, Execution execution, Supplier<T> action) {
+        try {
+            val content = action.get();
+            execution.result.complete(content);
+            completed.put(cacheKey, execution);
+            return IdempotentResult.<T>builder().content(content).build();
+        } catch (final RuntimeException ex) {
+            execution.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            running.remove(cacheKey, execution);
+        }
+    }
+
+    private void evicted() {
+        evictedBeforeTtl.increment();
+        if (fullWarned.compareAndSet(false, true)) {
+            log.warn("Idempotency store is full at ".concat(String.valueOf(maximumSize))
+                    .concat(" keys, keys are evicted before their ttl and their retries run again;")
+                    .concat(" raise bank.transaction.idempotency.maximum-size"));
+        }
+    }
+
+    static class Execution {
+        final byte[] fingerprint;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Execution(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.customer.transaction.data.service;
+
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Objects;
+
+/**
+ * Bloom filter of the phone numbers known to this node, enabled with {@code bank.customer.phone-filter.enabled}. It is
+ * filled from the customer table at start-up and with every customer this node saves, and sized by
+ * {@code expected-insertions} and {@code false-positive-probability}.
+ * <p>
+ * The unique key on {@code phone_number} is what keeps phone numbers unique; the filter only decides which creates are
+ * worth checking first. A number it has never seen goes straight to the insert. A number it might have seen is looked
+ * up before the insert, so a likely duplicate is answered from a read instead of a failed insert. Numbers of deleted
+ * customers and numbers saved by other nodes only cost that lookup or that failed insert, never a wrong answer.
+ */
+@Component
+@Slf4j
+public class PhoneNumberFilter {
+    final CustomerRepository customerRepository;
+
+    final boolean enabled;
+    final BloomFilter filter;
+    final int loadChunkSize;
+    final Counter falsePositiveCounter;
+
+    @Autowired
+    public PhoneNumberFilter(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                             @Value("${bank.customer.phone-filter.enabled:false}") boolean enabled,
+                             @Value("${bank.customer.phone-filter.expected-insertions:1000000}") long expectedInsertions,
+                             @Value("${bank.customer.phone-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                             @Value("${bank.customer.phone-filter.load-chunk-size:10000}") int loadChunkSize) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.filter = enabled ? new BloomFilter(expectedInsertions, falsePositiveProbability) : null;
+        this.loadChunkSize = loadChunkSize;
+        this.falsePositiveCounter = Counter.builder("bank.customer.phone_filter.false_positives")
+                .description("Creates the phone number filter sent to a lookup that found no customer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        var loaded = 0L;
+        var after = 0;
+        while (true) {
+            val customers = customerRepository.findByIdGreaterThanOrderById(after, PageRequest.of(0, loadChunkSize));
+            if (customers.isEmpty()) {
+                break;
+            }
+            customers.forEach(c -> filter.put(c.getPhoneNumber()));
+            loaded += customers.size();
+            after = customers.get(customers.size() - 1).getId();
+        }
+        log.info("Phone number filter loaded: ".concat(String.valueOf(loaded)).concat(" phone numbers, ")
+                .concat(String.valueOf(filter.bitSize() / 8 / 1024)).concat(" KiB"));
+    }
+
+    /**
+     * False if this node has never seen {@code phoneNumber}, or if the filter is disabled.
+     */
+    public boolean mightContain(String phoneNumber) {
+        return enabled && Objects.nonNull(phoneNumber) && filter.mightContain(phoneNumber);
+    }
+
+    public void put(String phoneNumber) {
+        if (enabled && Objects.nonNull(phoneNumber)) {
+            filter.put(phoneNumber);
+        }
+    }
+
+    /**
+     * Records that a number reported by {@link #mightContain} did not exist.
+     */
+    public void falsePositive() {
+        falsePositiveCounter.increment();
+    }
+}
@@ -1,124 +1,445 @@
 package com.customer.transaction.data.service;
 import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionAggregate;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
 import com.customer.transaction.data.repository.CustomerRepository;
 import com.customer.transaction.data.repository.TransactionRepository;
+import com.customer.transaction.data.util.BatchItemResult;
 import com.customer.transaction.data.util.GenericPagedModel;
+import com.customer.transaction.data.util.KeysetCursor;
 import com.customer.transaction.data.validator.CustomerValidator;
 import com.customer.transaction.data.validator.TransactionValidator;
 import com.customer.transaction.util.SortDirection;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
+@Timed("bank.service")
 @Slf4j
 public class TransactionService {
     final TransactionRepository transactionRepository;
     final CustomerRepository customerRepository;
+    final CustomerCache customerCache;
+    final CustomerBalanceIndex customerBalanceIndex;
+    final CustomerDailySummaryService customerDailySummaryService;
 
     final CustomerValidator customerValidator;
     final TransactionValidator transactionValidator;
 
+    final EntityManager entityManager;
+
+    final int jdbcBatchSize;
+    final int batchMaxSize;
+    final boolean ledgerEnabled;
+    final int exportFetchSize;
+
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, CustomerRepository customerRepository, CustomerValidator customerValidator, TransactionValidator transactionValidator) {
+    public TransactionService(TransactionRepository transactionRepository, CustomerRepository customerRepository, CustomerCache customerCache, CustomerBalanceIndex customerBalanceIndex, CustomerDailySummaryService customerDailySummaryService, CustomerValidator customerValidator, TransactionValidator transactionValidator, EntityManager entityManager,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                              @Value("${bank.transaction.batch.max-size:1000}") int batchMaxSize,
+                              @Value("${bank.transaction.ledger.enabled:false}") boolean ledgerEnabled,
+                              @Value("${bank.transaction.export.fetch-size:-2147483648}") int exportFetchSize) {
         this.transactionRepository = transactionRepository;
         this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.customerBalanceIndex = customerBalanceIndex;
+        this.customerDailySummaryService = customerDailySummaryService;
         this.customerValidator = customerValidator;
         this.transactionValidator = transactionValidator;
+        this.entityManager = entityManager;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.batchMaxSize = batchMaxSize;
+        this.ledgerEnabled = ledgerEnabled;
+        this.exportFetchSize = exportFetchSize;
     }
 
     public TransactionModel findById(Integer id) {
         return getTransaction(id);
     }
 
-    public GenericPagedModel<TransactionModel> findAll(int page, int size, String sortBy, SortDirection sortDirection) {
+    public GenericPagedModel<TransactionSummary> findAll(int page, int size, String sortBy, SortDirection sortDirection) {
+        return findAll(page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<TransactionSummary> findAll(int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? transactionRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : transactionRepository.findAll(PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            Slice<TransactionSummary> result = withTotals
+                    ? transactionRepository.findAllSummaries(pageable)
+                    : transactionRepository.findSliceSummaries(pageable);
             if (result.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
             }
 
-            return GenericPagedModel.<TransactionModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
-                    .build();
+            return GenericPagedModel.of(result);
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
-    public GenericPagedModel<TransactionModel> findAllByCustomer(CustomerModel customerModel, int page, int size, String sortBy, SortDirection sortDirection) {
+    public GenericPagedModel<TransactionSummary> findAllByCustomer(CustomerModel customerModel, int page, int size, String sortBy, SortDirection sortDirection) {
+        customerValidator.validate(customerModel);
+        return findAllByCustomerId(customerModel.getId(), page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<TransactionSummary> findAllByCustomerId(Integer customerId, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
         try {
-            customerValidator.validate(customerModel);
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? transactionRepository.findAllByCustomer(customerModel, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : transactionRepository.findAllByCustomer(customerModel, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            requireCustomerId(customerId);
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            Slice<TransactionSummary> result = withTotals
+                    ? transactionRepository.findAllSummariesByCustomerId(customerId, pageable)
+                    : transactionRepository.findSliceSummariesByCustomerId(customerId, pageable);
             if (result.isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer:".concat(customerModel.toString()));
+                throw emptyResultOfCustomer(customerId, "No transactions of customer with id: ".concat(customerId.toString()));
             }
 
-            return GenericPagedModel.<TransactionModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
-                    .build();
+            return GenericPagedModel.of(result);
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
-    public GenericPagedModel<TransactionModel> findAllByCustomerAndCreatedBeforeAndCreatedAfter(CustomerModel customerModel, Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+    public GenericPagedModel<TransactionSummary> findAllAfter(String after, int size, String sortBy, SortDirection sortDirection) {
         try {
-            customerValidator.validate(customerModel);
-            val result = sortDirection.equals(SortDirection.Ascending)
-                    ? transactionRepository.findAllByCustomerAndCreatedBeforeAndCreatedAfter(customerModel, createdAfter, createdBefore, PageRequest.of(page, size, Sort.by(sortBy).ascending()))
-                    : transactionRepository.findAllByCustomerAndCreatedBeforeAndCreatedAfter(customerModel, createdAfter, createdBefore, PageRequest.of(page, size, Sort.by(sortBy).descending()));
+            val result = transactionRepository.findAllAfter(KeysetCursor.decode(after, sortBy), keysetLimit(size), sortBy, sortDirection);
+            if (result.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No data");
+            }
+
+            return GenericPagedModel.ofKeyset(result, size, t -> KeysetCursor.after(t, sortBy, t.getId()));
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+    public GenericPagedModel<TransactionSummary> findAllByCustomerIdAfter(Integer customerId, String after, int size, String sortBy, SortDirection sortDirection) {
+        try {
+            requireCustomerId(customerId);
+            val result = transactionRepository.findAllByCustomerIdAfter(customerId, KeysetCursor.decode(after, sortBy), keysetLimit(size), sortBy, sortDirection);
+            if (result.isEmpty()) {
+                throw emptyResultOfCustomer(customerId, "No transactions of customer with id: ".concat(customerId.toString()));
+            }
+
+            return GenericPagedModel.ofKeyset(result, size, t -> KeysetCursor.after(t, sortBy, t.getId()));
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+    private void requireCustomerId(Integer customerId) {
+        if (Objects.isNull(customerId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "customerId must not be null");
+        }
+    }
+
+    /**
+     * Reads by customer id do not load the customer first, so only an empty result has to find out whether the
+     * customer exists at all; a primary key probe on that path keeps the common case at a single round trip.
+     */
+    private ResponseStatusException emptyResultOfCustomer(Integer customerId, String message) {
+        return customerRepository.existsById(customerId)
+                ? new ResponseStatusException(HttpStatus.NOT_FOUND, message)
+                : new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer with id: ".concat(customerId.toString()));
+    }
+
+    private int keysetLimit(int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pageSize must be greater than 0");
+        }
+        return size + 1;
+    }
+
+    public GenericPagedModel<TransactionSummary> findAllByCustomerAndCreatedBeforeAndCreatedAfter(CustomerModel customerModel, Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection) {
+        customerValidator.validate(customerModel);
+        return findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(customerModel.getId(), createdBefore, createdAfter, page, size, sortBy, sortDirection, true);
+    }
+
+    public GenericPagedModel<TransactionSummary> findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(Integer customerId, Date createdBefore, Date createdAfter, int page, int size, String sortBy, SortDirection sortDirection, boolean withTotals) {
+        try {
+            requireCustomerId(customerId);
+            val pageable = PageRequest.of(page, size, sortDirection.equals(SortDirection.Ascending)
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending());
+            Slice<TransactionSummary> result = withTotals
+                    ? transactionRepository.findAllSummariesByCustomerIdAndCreatedBeforeAndCreatedAfter(customerId, createdAfter, createdBefore, pageable)
+                    : transactionRepository.findSliceSummariesByCustomerIdAndCreatedBeforeAndCreatedAfter(customerId, createdAfter, createdBefore, pageable);
             if(result.isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No transaction between dates: ".concat(createdBefore.toString()).concat(" | ").concat(createdAfter.toString()).concat(" of customer: ").concat(customerModel.toString()));
-            }
-            return GenericPagedModel.<TransactionModel>builder()
-                    .totalElements(result.getTotalElements())
-                    .numberOfElements(result.getNumberOfElements())
-                    .totalPages(result.getTotalPages())
-                    .content(result.getContent())
-                    .build();
+                throw emptyResultOfCustomer(customerId, "No transaction between dates: ".concat(createdBefore.toString()).concat(" | ").concat(createdAfter.toString()).concat(" of customer with id: ").concat(customerId.toString()));
+            }
+            return GenericPagedModel.of(result);
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
+    public TransactionAggregate aggregateByCustomerId(Integer customerId, Date createdAfter, Date createdBefore) {
+        try {
+            requireCustomerId(customerId);
+            val result = customerDailySummaryService.isEnabled()
+                    ? customerDailySummaryService.aggregateByCustomerId(customerId, createdAfter, createdBefore)
+                    : transactionRepository.aggregateByCustomerId(customerId, createdAfter, createdBefore);
+            if (result.getCount() == 0) {
+                if (!customerRepository.existsById(customerId)) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer with id: ".concat(customerId.toString()));
+                }
+                result.setSum(0.0);
+            }
+            return result;
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+    /**
+     * Hands every transaction of the customer to {@code consumer} while the rows are read from an open result set. The
+     * rows are {@link TransactionSummary} projections, so nothing accumulates in the persistence context.
+     *
+     * @return number of exported transactions
+     */
+    @Transactional(readOnly = true)
+    public long exportByCustomer(CustomerModel customerModel, Date createdAfter, Date createdBefore, Consumer<TransactionSummary> consumer) {
+        customerValidator.validate(customerModel);
+        try (Stream<TransactionSummary> transactions = transactionRepository.streamAllByCustomerId(customerModel.getId(), createdAfter, createdBefore, exportFetchSize)) {
+            val iterator = transactions.iterator();
+            var exported = 0L;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                exported++;
+            }
+            return exported;
+        }
+    }
+
+    @Transactional
     public TransactionModel save(TransactionModel transactionModel) {
         try {
             transactionValidator.validate(transactionModel);
 
+            if (ledgerEnabled) {
+                val deltas = new TreeMap<Integer, Double>();
+                collectLedgerDeltas(transactionModel, deltas);
+                applyLedgerDeltas(deltas);
+            }
+
+            val previous = customerDailySummaryService.isEnabled() && Objects.nonNull(transactionModel.getId())
+                    ? transactionRepository.findSummaryById(transactionModel.getId())
+                    : Optional.<TransactionSummary>empty();
+
             log.info("Transaction saved: ". concat(transactionModel.toString()));
-            return transactionRepository.save(transactionModel);
+            val saved = transactionRepository.save(transactionModel);
+            entityManager.flush();
+
+            if (previous.isPresent()) {
+                updateDailySummary(previous.get(), saved.getCustomer().getId());
+            } else {
+                customerDailySummaryService.added(List.of(saved.getId()));
+            }
+            return saved;
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
         }
     }
 
+    /**
+     * Validates every transaction in one pass, reporting all invalid fields of an item together, resolves all
+     * referenced customers with a single query and persists the accepted ones in one database transaction, flushing
+     * every {@code hibernate.jdbc.batch_size} rows so the inserts go to MySQL as JDBC batches. Rejected items do not
+     * abort the batch; each item gets its own result.
+     */
+    @Transactional
+    public List<BatchItemResult<TransactionModel>> saveBatch(List<TransactionModel> transactionModels) {
+        if (Objects.isNull(transactionModels) || transactionModels.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "transactions must not be empty");
+        }
+        if (transactionModels.size() > batchMaxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "batch size must not exceed ".concat(String.valueOf(batchMaxSize)));
+        }
+        try {
+            val results = new ArrayList<BatchItemResult<TransactionModel>>(Collections.nCopies(transactionModels.size(), null));
+            val accepted = new ArrayList<Integer>(transactionModels.size());
+
+            for (int i = 0; i < transactionModels.size(); i++) {
+                val transactionModel = transactionModels.get(i);
+                if (Objects.isNull(transactionModel.getCustomer()) || Objects.isNull(transactionModel.getCustomer().getId())) {
+                    results.set(i, rejected(i, HttpStatus.NOT_ACCEPTABLE.value(), "customerId must not be null"));
+                    continue;
+                }
+                val errors = transactionValidator.validateAll(transactionModel);
+                if (errors.isEmpty()) {
+                    accepted.add(i);
+                } else {
+                    results.set(i, rejected(i, HttpStatus.BAD_REQUEST.value(), String.join("; ", errors)));
+                }
+            }
+
+            val customerIds = accepted.stream()
+                    .map(i -> transactionModels.get(i).getCustomer().getId())
+                    .collect(Collectors.toSet());
+            val customers = StreamSupport.stream(customerRepository.findAllById(customerIds).spliterator(), false)
+                    .collect(Collectors.toMap(CustomerModel::getId, Function.identity()));
+
+            val toSave = new ArrayList<Integer>(accepted.size());
+            for (val i : accepted) {
+                val transactionModel = transactionModels.get(i);
+                val customer = customers.get(transactionModel.getCustomer().getId());
+                if (Objects.isNull(customer)) {
+                    results.set(i, rejected(i, HttpStatus.NOT_FOUND.value(),
+                            "No customer with id: ".concat(transactionModel.getCustomer().getId().toString())));
+                    continue;
+                }
+                transactionModel.setCustomer(customer);
+                toSave.add(i);
+            }
+
+            if (ledgerEnabled) {
+                val deltas = new TreeMap<Integer, Double>();
+                toSave.forEach(i -> collectLedgerDeltas(transactionModels.get(i), deltas));
+                applyLedgerDeltas(deltas);
+            }
+
+            val previous = customerDailySummaryService.isEnabled()
+                    ? previousSummaries(toSave.stream().map(i -> transactionModels.get(i).getId()).filter(Objects::nonNull).toList())
+                    : Map.<Integer, TransactionSummary>of();
+            val inserted = new ArrayList<Integer>(toSave.size());
+
+            for (int from = 0; from < toSave.size(); from += jdbcBatchSize) {
+                val chunk = toSave.subList(from, Math.min(from + jdbcBatchSize, toSave.size()));
+                val saved = transactionRepository.saveAll(chunk.stream().map(transactionModels::get).toList()).iterator();
+                entityManager.flush();
+                entityManager.clear();
+                for (val i : chunk) {
+                    val savedTransaction = saved.next();
+                    if (previous.containsKey(savedTransaction.getId())) {
+                        updateDailySummary(previous.get(savedTransaction.getId()), savedTransaction.getCustomer().getId());
+                    } else {
+                        inserted.add(savedTransaction.getId());
+                    }
+                    results.set(i, BatchItemResult.<TransactionModel>builder()
+                            .index(i)
+                            .status(HttpStatus.OK.value())
+                            .content(savedTransaction)
+                            .build());
+                }
+            }
+            customerDailySummaryService.added(inserted);
+
+            log.info("Transaction batch saved: ".concat(String.valueOf(toSave.size())).concat("/")
+                    .concat(String.valueOf(transactionModels.size())));
+            return results;
+        } catch (final DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ExceptionUtils.getStackTrace(ex));
+        }
+    }
+
+    private Map<Integer, TransactionSummary> previousSummaries(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return transactionRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TransactionSummary::getId, Function.identity()));
+    }
+
+    /**
+     * An update keeps {@code created}, so only the day of the previous version has to be recomputed, for the previous
+     * customer and, if the transaction was moved, for the new one.
+     */
+    private void updateDailySummary(TransactionSummary previous, Integer customerId) {
+        customerDailySummaryService.changed(previous.getCustomerId(), previous.getCreated());
+        if (!previous.getCustomerId().equals(customerId)) {
+            customerDailySummaryService.changed(customerId, previous.getCreated());
+        }
+    }
+
+    private BatchItemResult<TransactionModel> rejected(int index, int status, String message) {
+        return BatchItemResult.<TransactionModel>builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Ledger mode: adds the balance change caused by saving {@code transactionModel} to {@code deltas}, keyed by
+     * customer id. An update of an existing transaction locks its row and reverses the previously applied amount.
+     */
+    private void collectLedgerDeltas(TransactionModel transactionModel, Map<Integer, Double> deltas) {
+        if (Objects.nonNull(transactionModel.getId())) {
+            transactionRepository.findWithLockById(transactionModel.getId())
+                    .ifPresent(existing -> deltas.merge(existing.getCustomer().getId(), -existing.getAmount(), Double::sum));
+        }
+        deltas.merge(transactionModel.getCustomer().getId(), transactionModel.getAmount(), Double::sum);
+    }
+
+    /**
+     * Ledger mode: applies every delta with a single conditional UPDATE per customer, so concurrent writers to the same
+     * customer only serialize on that customer's row lock for the rest of the database transaction. Customers are
+     * updated in ascending id order to keep lock acquisition deadlock free between concurrent batches.
+     */
+    private void applyLedgerDeltas(SortedMap<Integer, Double> deltas) {
+        deltas.forEach((customerId, delta) -> {
+            if (delta == 0.0) {
+                return;
+            }
+            if (customerRepository.applyBalanceDelta(customerId, delta) == 0) {
+                if (!customerRepository.existsById(customerId)) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No customer with id: ".concat(customerId.toString()));
+                }
+                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "balance of customer with id: ".concat(customerId.toString()).concat(" must not drop below 0"));
+            }
+        });
+        customerCache.invalidateAll(List.copyOf(deltas.keySet()));
+        customerBalanceIndex.addAfterCommit(deltas);
+    }
+
+    @Transactional
     public TransactionModel hardDelete(Integer id) {
         try {
-            val transactionToHardDelete = getTransaction(id);
+            val transactionToHardDelete = getTransaction(id, ledgerEnabled);
+
+            if (ledgerEnabled) {
+                val deltas = new TreeMap<Integer, Double>();
+                deltas.put(transactionToHardDelete.getCustomer().getId(), -transactionToHardDelete.getAmount());
+                applyLedgerDeltas(deltas);
+            }
 
             transactionRepository.delete(transactionToHardDelete);
+            entityManager.flush();
+            customerDailySummaryService.changed(transactionToHardDelete.getCustomer().getId(), transactionToHardDelete.getCreated());
 
             return transactionToHardDelete;
 
@@ -128,11 +449,15 @@ public class TransactionService {
     }
 
     private TransactionModel getTransaction(Integer id) {
+        return getTransaction(id, false);
+    }
+
+    private TransactionModel getTransaction(Integer id, boolean lock) {
         try {
             if(Objects.isNull(id)) {
                 throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "transactionId must not be null");
             }
-            val result = transactionRepository.findById(id);
+            val result = lock ? transactionRepository.findWithLockById(id) : transactionRepository.findById(id);
             if(result.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "transactionId:".concat(id.toString()));
             }
@@ -146,6 +471,7 @@ public class TransactionService {
     public void hardDeleteAll() {
         try {
             transactionRepository.deleteAll();
+            customerDailySummaryService.deleteAll();
         } catch (final DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
         }
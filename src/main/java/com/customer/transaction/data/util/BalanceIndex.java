@@ -0,0 +1,376 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of balances by id, sorted by balance and then id, for range queries and range counts. The entries are
+ * held in two parallel primitive arrays ({@code double} balances, {@code int} ids), 12 bytes per entry, plus an
+ * {@link IntDoubleMap} from id to balance, 16 to 32 bytes per entry. Memory follows the number of entries, not the
+ * range of the ids.
+ * <p>
+ * A range is found with two binary searches, so counting it costs {@code O(log n)} and reading a page of it in balance
+ * order {@code O(log n + page size)}. Changing a balance only moves the entries between its old and new position, which
+ * is cheap for the small changes of transactions; an insert moves everything above it.
+ */
+public class BalanceIndex {
+    private static final int[] NO_IDS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private double[] balances = new double[1024];
+    private int[] ids = new int[1024];
+    private final IntDoubleMap balanceById = new IntDoubleMap();
+    private volatile int size;
+
+    /**
+     * Sets the balance of {@code id}, adding it if it is not indexed yet.
+     */
+    public void put(int id, double balance) {
+        lock.writeLock().lock();
+        try {
+            if (Double.isNaN(balance)) {
+                remove(id);
+                return;
+            }
+            val old = balanceById.put(id, balance);
+            if (old == balance) {
+                return;
+            }
+            if (Double.isNaN(old)) {
+                insert(-find(balance, id) - 1, balance, id);
+                return;
+            }
+            var from = find(old, id);
+            val to = -find(balance, id) - 1;
+            if (to > from) {
+                // the old entry is still in place, so everything below the new position moves down by one
+                System.arraycopy(balances, from + 1, balances, from, to - 1 - from);
+                System.arraycopy(ids, from + 1, ids, from, to - 1 - from);
+                from = to - 1;
+            } else if (to < from) {
+                System.arraycopy(balances, to, balances, to + 1, from - to);
+                System.arraycopy(ids, to, ids, to + 1, from - to);
+                from = to;
+            }
+            balances[from] = balance;
+            ids[from] = id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the balances of the first {@code count} ids at once and sorts the whole index again, which is much cheaper
+     * than {@link #put} one by one for the unsorted balances of a load.
+     */
+    public void putAll(int[] ids, double[] balances, int count) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (Double.isNaN(balances[i])) {
+                    balanceById.remove(ids[i]);
+                } else {
+                    balanceById.put(ids[i], balances[i]);
+                }
+            }
+            val entries = balanceById.size();
+            this.ids = new int[Math.max(entries, 1024)];
+            this.balances = new double[this.ids.length];
+            balanceById.copyTo(this.ids, this.balances);
+            sortEntries(entries);
+            size = entries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the balance of {@code id}; ids that are not indexed are ignored.
+     */
+    public void add(int id, double delta) {
+        lock.writeLock().lock();
+        try {
+            val balance = balanceById.get(id);
+            if (!Double.isNaN(balance)) {
+                put(id, balance + delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            val balance = balanceById.remove(id);
+            if (Double.isNaN(balance)) {
+                return;
+            }
+            val at = find(balance, id);
+            System.arraycopy(balances, at + 1, balances, at, size - at - 1);
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            balances = new double[1024];
+            ids = new int[1024];
+            balanceById.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The balance of {@code id}, or {@code NaN} when it is not indexed.
+     */
+    public double balanceOf(int id) {
+        lock.readLock().lock();
+        try {
+            return balanceById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of entries with {@code min <= balance <= max}.
+     */
+    public int count(double min, double max) {
+        lock.readLock().lock();
+        try {
+            return Math.max(upperBound(max) - lowerBound(min), 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the entries with {@code min <= balance <= max} in balance order, then id order, skipping {@code offset} of
+     * them and returning at most {@code limit}; descending starts at the highest balance.
+     */
+    public int[] rangeByBalance(double min, double max, int offset, int limit, boolean descending) {
+        lock.readLock().lock();
+        try {
+            val from = lowerBound(min);
+            val to = upperBound(max);
+            val length = Math.min(limit, to - from - offset);
+            if (length <= 0) {
+                return NO_IDS;
+            }
+            val result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = descending ? ids[to - 1 - offset - i] : ids[from + offset + i];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the entries with {@code min <= balance <= max} in id order, skipping {@code offset} of them and returning
+     * at most {@code limit}. This has to look at the whole range: the smallest ids of the page are selected with a heap
+     * while the page is small against the range, otherwise the range is copied and sorted.
+     */
+    public int[] rangeById(double min, double max, int offset, int limit, boolean descending) {
+        int[] range;
+        lock.readLock().lock();
+        try {
+            val from = lowerBound(min);
+            val to = upperBound(max);
+            if (to - from <= offset || limit < 1) {
+                return NO_IDS;
+            }
+            val wanted = (int) Math.min((long) offset + limit, to - from);
+            if ((long) wanted * 8 < to - from) {
+                return Arrays.copyOfRange(selectEnds(from, to, wanted, descending), offset, wanted);
+            }
+            range = Arrays.copyOfRange(ids, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(range);
+        val length = Math.min(limit, range.length - offset);
+        val result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = descending ? range[range.length - 1 - offset - i] : range[offset + i];
+        }
+        return result;
+    }
+
+    /**
+     * The {@code wanted} smallest ids (largest when descending) of {@code ids[from..to)}, in order, using a binary heap
+     * that keeps the worst of them on top.
+     */
+    private int[] selectEnds(int from, int to, int wanted, boolean descending) {
+        // the heap holds ids, negated when descending so that it always keeps the smallest values
+        val heap = new int[wanted];
+        var heapSize = 0;
+        for (int i = from; i < to; i++) {
+            val id = descending ? -ids[i] : ids[i];
+            if (heapSize < wanted) {
+                heap[heapSize] = id;
+                siftUp(heap, heapSize++);
+            } else if (id < heap[0]) {
+                heap[0] = id;
+                siftDown(heap, heapSize);
+            }
+        }
+        Arrays.sort(heap);
+        if (descending) {
+            for (int i = 0; i < heap.length; i++) {
+                heap[i] = -heap[i];
+            }
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int at) {
+        while (at > 0) {
+            val parent = (at - 1) / 2;
+            if (heap[parent] >= heap[at]) {
+                return;
+            }
+            swap(heap, parent, at);
+            at = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size) {
+        var at = 0;
+        while (true) {
+            val left = 2 * at + 1;
+            if (left >= size) {
+                return;
+            }
+            val largest = left + 1 < size && heap[left + 1] > heap[left] ? left + 1 : left;
+            if (heap[at] >= heap[largest]) {
+                return;
+            }
+            swap(heap, at, largest);
+            at = largest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        val value = heap[a];
+        heap[a] = heap[b];
+        heap[b] = value;
+    }
+
+    /**
+     * Bottom-up merge sort of the first {@code length} entries by balance and then id, moving both arrays together.
+     */
+    private void sortEntries(int length) {
+        var fromIds = ids;
+        var fromBalances = balances;
+        var toIds = new int[ids.length];
+        var toBalances = new double[ids.length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                val middle = Math.min(low + width, length);
+                val high = Math.min(low + 2 * width, length);
+                var left = low;
+                var right = middle;
+                for (int i = low; i < high; i++) {
+                    val takeLeft = left < middle && (right >= high
+                            || compare(fromBalances[left], fromIds[left], fromBalances[right], fromIds[right]) <= 0);
+                    val from = takeLeft ? left++ : right++;
+                    toIds[i] = fromIds[from];
+                    toBalances[i] = fromBalances[from];
+                }
+            }
+            val swapIds = fromIds;
+            fromIds = toIds;
+            toIds = swapIds;
+            val swapBalances = fromBalances;
+            fromBalances = toBalances;
+            toBalances = swapBalances;
+        }
+        ids = fromIds;
+        balances = fromBalances;
+    }
+
+    private static int compare(double balance, int id, double otherBalance, int otherId) {
+        return balance != otherBalance ? Double.compare(balance, otherBalance) : Integer.compare(id, otherId);
+    }
+
+    /**
+     * Position of the entry ({@code balance}, {@code id}), or {@code -(insertion point) - 1} when it is not there.
+     */
+    private int find(double balance, int id) {
+        var low = 0;
+        var high = size - 1;
+        while (low <= high) {
+            val mid = (low + high) >>> 1;
+            val order = compare(balances[mid], ids[mid], balance, id);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * First position with a balance of at least {@code min}.
+     */
+    private int lowerBound(double min) {
+        var low = 0;
+        var high = size;
+        while (low < high) {
+            val mid = (low + high) >>> 1;
+            if (balances[mid] < min) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position with a balance above {@code max}.
+     */
+    private int upperBound(double max) {
+        var low = 0;
+        var high = size;
+        while (low < high) {
+            val mid = (low + high) >>> 1;
+            if (balances[mid] <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(int at, double balance, int id) {
+        if (size == balances.length) {
+            balances = Arrays.copyOf(balances, size + (size >> 1));
+            ids = Arrays.copyOf(ids, balances.length);
+        }
+        System.arraycopy(balances, at, balances, at + 1, size - at);
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        balances[at] = balance;
+        ids[at] = id;
+        size++;
+    }
+}
@@ -0,0 +1,13 @@
+package com.customer.transaction.data.util;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class BatchItemResult<T> {
+    public int index;
+    public int status;
+    public String message;
+    public T content;
+}
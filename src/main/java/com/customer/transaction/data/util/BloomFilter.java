@@ -0,0 +1,78 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings. {@link #mightContain} is false for every value that was never {@link #put} and true for
+ * all values that were; for other values it is true with about the false positive probability the filter was sized
+ * for, as long as no more than the expected number of values are put. Values can not be removed. Bits are set with
+ * atomic updates, so puts and lookups need no locking.
+ */
+public class BloomFilter {
+    final AtomicLongArray words;
+    final long bits;
+    final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        val n = Math.max(1, expectedInsertions);
+        val optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (Math.max(64, optimalBits) + 63) / 64));
+        this.bits = (long) words.length() * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        val hash = hash(value);
+        val h1 = (int) hash;
+        val h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            val bit = index(h1 + i * h2);
+            val mask = 1L << bit;
+            val word = (int) (bit >>> 6);
+            var current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        val hash = hash(value);
+        val h1 = (int) hash;
+        val h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            val bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    private long index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bits;
+    }
+
+    /**
+     * 64-bit FNV-1a over the chars, finished with the MurmurHash3 mixer so both halves are usable as hashes.
+     */
+    private static long hash(String value) {
+        var h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
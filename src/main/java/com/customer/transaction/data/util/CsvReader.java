@@ -0,0 +1,128 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time from a {@link Reader}: fields separated by commas, optionally enclosed in double
+ * quotes, with {@code ""} for a quote and line breaks allowed inside quoted fields. Only the current record is held in
+ * memory. A leading byte order mark is skipped and empty lines are not records.
+ */
+public class CsvReader {
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder(32);
+
+    private int peeked = -2;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     */
+    public List<String> next() throws IOException {
+        var c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        if (c == '\uFEFF' && recordLine == 0) {
+            c = read();
+        }
+        recordLine = line;
+
+        val fields = new ArrayList<String>(4);
+        field.setLength(0);
+        var quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line ".concat(String.valueOf(recordLine)));
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * The line the last record returned by {@link #next()} started on, counting from 1.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Formats one record, quoting the fields that need it.
+     */
+    public static String format(List<String> fields) {
+        val record = new StringBuilder(64);
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            val value = fields.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                record.append(value);
+            } else {
+                record.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+        return record.toString();
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n' || (c == '\r' && peek() != '\n')) {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,47 @@
+package com.customer.transaction.data.util;
+
+import com.customer.transaction.data.model.CustomerModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Field-level change detection for {@link CustomerModel}. Changed fields are reported as a bit mask so the common
+ * "nothing changed" check does not allocate; only the compact {@code customer_log} format materializes the changed
+ * values.
+ */
+public class CustomerDiff {
+    public static final int NONE = 0;
+    public static final int FULL_NAME = 1;
+    public static final int PHONE_NUMBER = 1 << 1;
+    public static final int BALANCE = 1 << 2;
+
+    public static int changedFields(CustomerModel before, CustomerModel after) {
+        var changed = NONE;
+        if (!Objects.equals(before.getFullName(), after.getFullName())) {
+            changed |= FULL_NAME;
+        }
+        if (!Objects.equals(before.getPhoneNumber(), after.getPhoneNumber())) {
+            changed |= PHONE_NUMBER;
+        }
+        if (!Objects.equals(before.getBalance(), after.getBalance())) {
+            changed |= BALANCE;
+        }
+        return changed;
+    }
+
+    public static Map<String, Object> changedValues(CustomerModel customerModel, int changedFields) {
+        final Map<String, Object> values = new LinkedHashMap<>(4);
+        if ((changedFields & FULL_NAME) != 0) {
+            values.put("fullName", customerModel.getFullName());
+        }
+        if ((changedFields & PHONE_NUMBER) != 0) {
+            values.put("phoneNumber", customerModel.getPhoneNumber());
+        }
+        if ((changedFields & BALANCE) != 0) {
+            values.put("balance", customerModel.getBalance());
+        }
+        return values;
+    }
+}
@@ -2,8 +2,13 @@ package com.customer.transaction.data.util;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.val;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 @Builder
 @Data
@@ -12,4 +17,40 @@ public class GenericPagedModel<T> {
     public int totalPages;
     public int numberOfElements;
     public Collection<T> content;
+    public String nextCursor;
+    public Boolean hasNext;
+
+    /**
+     * Copies a Spring Data result. A {@link Page} carries the totals of its count query; a plain {@link Slice} was read
+     * as {@code size + 1} rows without counting, so only {@code hasNext} is known and the totals stay unset.
+     */
+    public static <T> GenericPagedModel<T> of(Slice<T> result) {
+        val builder = GenericPagedModel.<T>builder()
+                .numberOfElements(result.getNumberOfElements())
+                .content(result.getContent());
+        if (result instanceof Page<T> page) {
+            return builder
+                    .totalElements(page.getTotalElements())
+                    .totalPages(page.getTotalPages())
+                    .build();
+        }
+        return builder
+                .hasNext(result.hasNext())
+                .build();
+    }
+
+    /**
+     * Builds a keyset page from a query that fetched {@code size + 1} rows; the extra row only signals that a next
+     * page exists, and the cursor points at the last row returned.
+     */
+    public static <T> GenericPagedModel<T> ofKeyset(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        val hasNext = rows.size() > size;
+        val content = hasNext ? rows.subList(0, size) : rows;
+        return GenericPagedModel.<T>builder()
+                .numberOfElements(content.size())
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null)
+                .build();
+    }
 }
@@ -0,0 +1,11 @@
+package com.customer.transaction.data.util;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class IdempotentResult<T> {
+    public T content;
+    public boolean replayed;
+}
@@ -0,0 +1,15 @@
+package com.customer.transaction.data.util;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ImportResult {
+    public long rows;
+    public long imported;
+    public long rejected;
+    public long elapsedMillis;
+    public double rowsPerSecond;
+    public String rejectionFile;
+}
@@ -0,0 +1,138 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code int} keys to {@code double} values without boxing, for {@link BalanceIndex}. Open addressing
+ * with linear probing in a power of two table that is grown at three quarters full, so it takes 16 to 32 bytes per
+ * entry whatever the range of the keys. {@code NaN} marks an empty slot and stands for a missing key, so it can not be
+ * stored. Not thread safe.
+ */
+final class IntDoubleMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private double[] values;
+    private int size;
+
+    IntDoubleMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * The value of {@code key}, or {@code NaN} when it is not in the map.
+     */
+    double get(int key) {
+        val mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (Double.isNaN(values[slot]) || keys[slot] == key) {
+                return values[slot];
+            }
+        }
+    }
+
+    /**
+     * Sets the value of {@code key} and returns the previous one, {@code NaN} when there was none.
+     */
+    double put(int key, double value) {
+        val mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            val old = values[slot];
+            if (Double.isNaN(old)) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 4L > keys.length * 3L) {
+                    rehash(keys.length * 2);
+                }
+                return Double.NaN;
+            }
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return old;
+            }
+        }
+    }
+
+    /**
+     * Removes {@code key} and returns its value, {@code NaN} when it was not in the map.
+     */
+    double remove(int key) {
+        val mask = keys.length - 1;
+        var hole = hash(key) & mask;
+        while (!Double.isNaN(values[hole]) && keys[hole] != key) {
+            hole = (hole + 1) & mask;
+        }
+        val old = values[hole];
+        if (Double.isNaN(old)) {
+            return old;
+        }
+        // shift the following entries of the run back, unless that would move one in front of its own slot
+        for (int next = (hole + 1) & mask; !Double.isNaN(values[next]); next = (next + 1) & mask) {
+            val home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        values[hole] = Double.NaN;
+        size--;
+        return old;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Copies the entries, in no particular order, to the start of {@code keys} and {@code values}.
+     */
+    void copyTo(int[] keys, double[] values) {
+        var at = 0;
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (!Double.isNaN(this.values[slot])) {
+                keys[at] = this.keys[slot];
+                values[at++] = this.values[slot];
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        val oldKeys = keys;
+        val oldValues = values;
+        allocate(capacity);
+        val mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (Double.isNaN(oldValues[i])) {
+                continue;
+            }
+            var slot = hash(oldKeys[i]) & mask;
+            while (!Double.isNaN(values[slot])) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new double[capacity];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * Spreads consecutive ids over the table.
+     */
+    private static int hash(int key) {
+        val h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,126 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.util.Objects;
+
+/**
+ * Hash map from {@code int} keys to objects without boxing the keys, for the words of {@link NameIndex}. Laid out like
+ * {@link IntDoubleMap}, with {@code null} marking an empty slot, so {@code null} values can not be stored. Not thread
+ * safe.
+ */
+final class IntObjectMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    IntObjectMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * The value of {@code key}, or {@code null} when it is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        val mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (Objects.isNull(values[slot]) || keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+    }
+
+    /**
+     * Sets the value of {@code key} and returns the previous one, {@code null} when there was none.
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        val mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            val old = values[slot];
+            if (Objects.isNull(old)) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 4L > keys.length * 3L) {
+                    rehash(keys.length * 2);
+                }
+                return null;
+            }
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) old;
+            }
+        }
+    }
+
+    /**
+     * Removes {@code key} and returns its value, {@code null} when it was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        val mask = keys.length - 1;
+        var hole = hash(key) & mask;
+        while (Objects.nonNull(values[hole]) && keys[hole] != key) {
+            hole = (hole + 1) & mask;
+        }
+        val old = values[hole];
+        if (Objects.isNull(old)) {
+            return null;
+        }
+        // shift the following entries of the run back, unless that would move one in front of its own slot
+        for (int next = (hole + 1) & mask; Objects.nonNull(values[next]); next = (next + 1) & mask) {
+            val home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return (V) old;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        val oldKeys = keys;
+        val oldValues = values;
+        allocate(capacity);
+        val mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (Objects.isNull(oldValues[i])) {
+                continue;
+            }
+            var slot = hash(oldKeys[i]) & mask;
+            while (Objects.nonNull(values[slot])) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Spreads consecutive ids over the table.
+     */
+    private static int hash(int key) {
+        val h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
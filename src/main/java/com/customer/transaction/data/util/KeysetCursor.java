@@ -0,0 +1,90 @@
+package com.customer.transaction.data.util;
+
+import lombok.Getter;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque position for keyset (seek) pagination: the sort key and id of the last row a client has seen. Encoded as
+ * url safe base64 of {@code sortBy \n value \n id}, where dates are written as epoch millis.
+ */
+@Getter
+public class KeysetCursor {
+    private static final char SEPARATOR = '\n';
+
+    private final String sortBy;
+    private final String value;
+    private final Integer id;
+
+    private KeysetCursor(String sortBy, String value, Integer id) {
+        this.sortBy = sortBy;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(String sortBy, Object value, Integer id) {
+        return new KeysetCursor(sortBy, value instanceof Date date ? String.valueOf(date.getTime()) : String.valueOf(value), id);
+    }
+
+    /**
+     * Cursor pointing at {@code row}, reading the sort key from the field named {@code sortBy}.
+     */
+    public static KeysetCursor after(Object row, String sortBy, Integer id) {
+        return of(sortBy, PropertyAccessorFactory.forDirectFieldAccess(row).getPropertyValue(sortBy), id);
+    }
+
+    /**
+     * @return {@code null} for a blank cursor, which asks for the first page.
+     */
+    public static KeysetCursor decode(String cursor, String sortBy) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            val decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            val first = decoded.indexOf(SEPARATOR);
+            val last = decoded.lastIndexOf(SEPARATOR);
+            val result = new KeysetCursor(decoded.substring(0, first), decoded.substring(first + 1, last),
+                    Integer.valueOf(decoded.substring(last + 1)));
+            if (!result.sortBy.equals(sortBy)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "cursor was created for sortBy: ".concat(result.sortBy).concat(" not ").concat(sortBy));
+            }
+            return result;
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after: ".concat(cursor).concat(" is not a valid cursor"));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (sortBy + SEPARATOR + value + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Object valueAs(Class<?> type) {
+        try {
+            if (Date.class.isAssignableFrom(type)) {
+                return new Date(Long.parseLong(value));
+            }
+            if (Integer.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            return value;
+        } catch (final NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor value: ".concat(value).concat(" is not a valid ").concat(sortBy));
+        }
+    }
+}
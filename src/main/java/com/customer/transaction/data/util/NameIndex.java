@@ -0,0 +1,334 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of names by id for prefix and typo tolerant search. Names are split into lower case words without
+ * accents; the index keeps a sorted dictionary of all words with the ids using each, and the words of every id in a
+ * hash map, so memory follows the number of names and not the highest id.
+ * <p>
+ * Every word of a query has to match a word of the name: the same word costs 0, a word it is a prefix of costs 1, and
+ * for query words of at least {@value #FUZZY_MIN_LENGTH} characters a word one edit away (insertion, deletion,
+ * substitution or swap of neighbours) costs 2. Results are ordered by total cost, then id. Candidates come from the
+ * query word with the fewest matching ids only; the dictionary answers prefixes with a range scan and typos with a
+ * lookup of every word one edit away, so no search scans all names.
+ */
+public class NameIndex {
+    public static final int FUZZY_MIN_LENGTH = 4;
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int FUZZY = 2;
+    private static final String[] NO_WORDS = new String[0];
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectMap<String[]> words = new IntObjectMap<>();
+    private volatile int size;
+
+    public void put(int id, String name) {
+        val nameWords = split(name);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (int i = 0; i < nameWords.length; i++) {
+                val postings = dictionary.computeIfAbsent(nameWords[i], Postings::new);
+                postings.add(id);
+                nameWords[i] = postings.word;
+            }
+            words.put(id, nameWords);
+            size = words.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            words.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ids of the best {@code limit} matches, best first.
+     */
+    public int[] search(String query, int limit) {
+        val queryWords = split(query);
+        if (queryWords.length == 0 || limit < 1) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> candidates = null;
+            var fewest = Long.MAX_VALUE;
+            for (val queryWord : queryWords) {
+                val matching = new ArrayList<Postings>();
+                val count = collect(queryWord, matching, fewest);
+                if (count < fewest) {
+                    fewest = count;
+                    candidates = matching;
+                }
+                if (count == 0) {
+                    return new int[0];
+                }
+            }
+
+            // keys are cost << 32 | id, the worst of the best limit on top; an id is reached once per matching word
+            val best = new PriorityQueue<Long>(limit + 1, Comparator.reverseOrder());
+            val chosen = new HashSet<Integer>();
+            for (val postings : Objects.requireNonNull(candidates)) {
+                for (int i = 0; i < postings.size; i++) {
+                    val id = postings.ids[i];
+                    val cost = cost(queryWords, words.get(id));
+                    if (cost < 0) {
+                        continue;
+                    }
+                    val key = ((long) cost << 32) | id;
+                    if (best.size() == limit && key >= best.peek()) {
+                        continue;
+                    }
+                    if (!chosen.add(id)) {
+                        continue;
+                    }
+                    best.add(key);
+                    if (best.size() > limit) {
+                        chosen.remove((int) (long) best.poll());
+                    }
+                }
+            }
+
+            val ids = new int[best.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = (int) (long) best.poll();
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case words of {@code name} with accents removed, split at everything that is not a letter or digit.
+     */
+    public static String[] split(String name) {
+        if (Objects.isNull(name)) {
+            return NO_WORDS;
+        }
+        val normalized = Normalizer.normalize(name, Normalizer.Form.NFD);
+        val result = new ArrayList<String>(3);
+        val word = new StringBuilder(16);
+        for (int i = 0; i < normalized.length(); i++) {
+            val c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && word.length() > 0) {
+                result.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            result.add(word.toString());
+        }
+        return result.toArray(NO_WORDS);
+    }
+
+    private void removeLocked(int id) {
+        val nameWords = words.remove(id);
+        if (Objects.isNull(nameWords)) {
+            return;
+        }
+        for (val word : nameWords) {
+            val postings = dictionary.get(word);
+            if (Objects.nonNull(postings) && postings.remove(id) && postings.size == 0) {
+                dictionary.remove(word);
+            }
+        }
+        size = words.size();
+    }
+
+    /**
+     * Adds the dictionary entries matching {@code queryWord} and returns their number of ids, or stops counting once
+     * {@code enough} is reached.
+     */
+    private long collect(String queryWord, List<Postings> matching, long enough) {
+        var count = 0L;
+        for (val postings : dictionary.subMap(queryWord, true, queryWord.concat("\uffff"), false).values()) {
+            matching.add(postings);
+            count += postings.size;
+            if (count >= enough) {
+                return count;
+            }
+        }
+        if (queryWord.length() >= FUZZY_MIN_LENGTH) {
+            for (val edit : editsOf(queryWord)) {
+                val postings = dictionary.get(edit);
+                if (Objects.nonNull(postings) && !edit.startsWith(queryWord)) {
+                    matching.add(postings);
+                    count += postings.size;
+                    if (count >= enough) {
+                        return count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int cost(String[] queryWords, String[] nameWords) {
+        var total = 0;
+        for (val queryWord : queryWords) {
+            var best = -1;
+            for (val nameWord : nameWords) {
+                val cost = nameWord.equals(queryWord) ? EXACT
+                        : nameWord.startsWith(queryWord) ? PREFIX
+                        : queryWord.length() >= FUZZY_MIN_LENGTH && oneEditApart(queryWord, nameWord) ? FUZZY
+                        : -1;
+                if (cost >= 0 && (best < 0 || cost < best)) {
+                    best = cost;
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    static boolean oneEditApart(String a, String b) {
+        val lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        var i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length()) {
+            return false;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    private static Set<String> editsOf(String word) {
+        val edits = new HashSet<String>(word.length() * 108 + 50);
+        val chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            edits.add(word.substring(0, i).concat(word.substring(i + 1)));
+        }
+        for (int i = 0; i + 1 < chars.length; i++) {
+            swap(chars, i);
+            edits.add(new String(chars));
+            swap(chars, i);
+        }
+        for (int i = 0; i < chars.length; i++) {
+            val original = chars[i];
+            for (val c : ALPHABET) {
+                if (c != original) {
+                    chars[i] = c;
+                    edits.add(new String(chars));
+                }
+            }
+            chars[i] = original;
+        }
+        for (int i = 0; i <= chars.length; i++) {
+            val head = word.substring(0, i);
+            val tail = word.substring(i);
+            for (val c : ALPHABET) {
+                edits.add(head.concat(String.valueOf(c)).concat(tail));
+            }
+        }
+        return edits;
+    }
+
+    private static void swap(char[] chars, int i) {
+        val c = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = c;
+    }
+
+    /**
+     * Sorted ids of the names using one word.
+     */
+    private static class Postings {
+        final String word;
+        int[] ids = new int[4];
+        int size;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                val at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(int id) {
+            val at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void insert(int at, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.customer.transaction.data.util;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class RebuildResult {
+    public long customers;
+    public long days;
+}
@@ -0,0 +1,51 @@
+package com.customer.transaction.data.util;
+
+import lombok.val;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so a request can report how many round trips it
+ * made. Registered through {@code hibernate.session_factory.statement_inspector}; the statement itself is passed on
+ * unchanged. Statements run by {@code JdbcTemplate} do not go through Hibernate and are not counted. Between
+ * {@link #record()} and {@link #recorded()} the statements of the thread are kept as well, so a test can look at the SQL
+ * Hibernate actually generated.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        val recorded = RECORDED.get();
+        if (Objects.nonNull(recorded)) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    public static void record() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    /**
+     * The statements prepared on the current thread since {@link #record()}, which stops recording.
+     */
+    public static List<String> recorded() {
+        val recorded = RECORDED.get();
+        RECORDED.remove();
+        return Objects.isNull(recorded) ? List.of() : recorded;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
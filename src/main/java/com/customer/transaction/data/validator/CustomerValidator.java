@@ -1,6 +1,14 @@
 package com.customer.transaction.data.validator;
 import com.customer.transaction.data.model.CustomerModel;
 
+import java.util.List;
+
 public interface CustomerValidator {
     void validate(CustomerModel model);
+
+    /**
+     * Checks every field instead of stopping at the first failure and returns one message per failed field; the
+     * returned list is empty and shared when the model is valid.
+     */
+    List<String> validateAll(CustomerModel model);
 }
@@ -1,6 +1,10 @@
 package com.customer.transaction.data.validator;
 import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.validation.Validation;
 import org.springframework.stereotype.Component;
+
+import java.util.List;
+
 import static com.customer.transaction.validation.Constants.CUSTOMER_FULL_NAME_FIELD_FOR_VALIDATION;
 import static com.customer.transaction.validation.Constants.CUSTOMER_PHONE_NUMBER_FIELD_FOR_VALIDATION;
 import static com.customer.transaction.validation.Constants.CUSTOMER_BALANCE_FIELD_FOR_VALIDATION;
@@ -10,10 +14,22 @@ import static com.customer.transaction.validation.helper.DoubleValidationHelpers
 
 @Component
 public class CustomerValidatorImpl implements CustomerValidator {
+    private final Validation<String> fullName = notBlank;
+    private final Validation<String> phoneNumber = notBlank;
+    private final Validation<Double> balance = notNullDouble.and(greaterThan(0.0));
+
     @Override
     public void validate(CustomerModel model) {
-        notBlank.test(model.getFullName()).throwIfInvalid(CUSTOMER_FULL_NAME_FIELD_FOR_VALIDATION);
-        notBlank.test(model.getPhoneNumber()).throwIfInvalid(CUSTOMER_PHONE_NUMBER_FIELD_FOR_VALIDATION);
-        notNullDouble.and(greaterThan(0.0)).test(model.getBalance()).throwIfInvalid(CUSTOMER_BALANCE_FIELD_FOR_VALIDATION);
+        fullName.test(model.getFullName()).throwIfInvalid(CUSTOMER_FULL_NAME_FIELD_FOR_VALIDATION);
+        phoneNumber.test(model.getPhoneNumber()).throwIfInvalid(CUSTOMER_PHONE_NUMBER_FIELD_FOR_VALIDATION);
+        balance.test(model.getBalance()).throwIfInvalid(CUSTOMER_BALANCE_FIELD_FOR_VALIDATION);
+    }
+
+    @Override
+    public List<String> validateAll(CustomerModel model) {
+        List<String> errors = List.of();
+        errors = fullName.test(model.getFullName()).collectIfInvalid(CUSTOMER_FULL_NAME_FIELD_FOR_VALIDATION, errors);
+        errors = phoneNumber.test(model.getPhoneNumber()).collectIfInvalid(CUSTOMER_PHONE_NUMBER_FIELD_FOR_VALIDATION, errors);
+        return balance.test(model.getBalance()).collectIfInvalid(CUSTOMER_BALANCE_FIELD_FOR_VALIDATION, errors);
     }
 }
@@ -2,7 +2,14 @@ package com.customer.transaction.data.validator;
 
 import com.customer.transaction.data.model.TransactionModel;
 
+import java.util.List;
+
 public interface TransactionValidator {
     void validate(TransactionModel model);
 
+    /**
+     * Checks every field instead of stopping at the first failure and returns one message per failed field; the
+     * returned list is empty and shared when the model is valid.
+     */
+    List<String> validateAll(TransactionModel model);
 }
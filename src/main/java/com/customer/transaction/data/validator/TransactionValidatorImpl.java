@@ -1,6 +1,11 @@
 package com.customer.transaction.data.validator;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.validation.Validation;
 import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
 import static com.customer.transaction.validation.Constants.CUSTOMER_ID_FIELD_FOR_VALIDATION;
 import static com.customer.transaction.validation.Constants.TRANSACTION_AMOUNT_FIELD_FOR_VALIDATION;
 import static com.customer.transaction.validation.helper.ObjectValidationHelpers.notNullObject;
@@ -11,10 +16,21 @@ import static com.customer.transaction.validation.helper.DoubleValidationHelpers
 
 @Component
 public class TransactionValidatorImpl implements TransactionValidator {
+    private final Validation<Object> customerId = notNullObject;
+    private final Validation<Double> amount = notNullDouble.and(greaterThan(0.0));
+
     @Override
     public void validate(TransactionModel model) {
-        notNullObject.test(model.getCustomer().getId()).throwIfInvalid(CUSTOMER_ID_FIELD_FOR_VALIDATION);
-        notNullDouble.and(greaterThan(0.0)).test(model.getAmount())
+        customerId.test(model.getCustomer().getId()).throwIfInvalid(CUSTOMER_ID_FIELD_FOR_VALIDATION);
+        amount.test(model.getAmount())
                 .throwIfInvalid(TRANSACTION_AMOUNT_FIELD_FOR_VALIDATION);
     }
+
+    @Override
+    public List<String> validateAll(TransactionModel model) {
+        List<String> errors = List.of();
+        errors = customerId.test(Objects.isNull(model.getCustomer()) ? null : model.getCustomer().getId())
+                .collectIfInvalid(CUSTOMER_ID_FIELD_FOR_VALIDATION, errors);
+        return amount.test(model.getAmount()).collectIfInvalid(TRANSACTION_AMOUNT_FIELD_FOR_VALIDATION, errors);
+    }
 }
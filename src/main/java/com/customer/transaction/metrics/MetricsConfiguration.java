@@ -0,0 +1,34 @@
+package com.customer.transaction.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Service timers come from {@code @Timed} through the {@link TimedAspect}; controller, repository and connection pool
+ * timers are Spring Boot's own ({@code http.server.requests}, {@code spring.data.repository.invocations},
+ * {@code hikaricp.connections.*}). Percentiles for all of them are configured under
+ * {@code management.metrics.distribution} and scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+    final MeterRegistry meterRegistry;
+
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMetricsInterceptor(meterRegistry))
+                .excludePathPatterns("/error");
+    }
+}
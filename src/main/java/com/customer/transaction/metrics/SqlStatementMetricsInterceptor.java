@@ -0,0 +1,46 @@
+package com.customer.transaction.metrics;
+
+import com.customer.transaction.data.util.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Objects;
+
+/**
+ * Records the number of SQL statements each request executed as {@code bank.http.sql.statements}, tagged like
+ * {@code http.server.requests} with the method and the matched uri template, so an N+1 regression shows up as a jump
+ * in the per-endpoint count.
+ */
+public class SqlStatementMetricsInterceptor implements HandlerInterceptor {
+    public static final String METRIC_NAME = "bank.http.sql.statements";
+
+    final MeterRegistry meterRegistry;
+
+    public SqlStatementMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        val uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", Objects.isNull(uri) ? "UNKNOWN" : uri.toString())
+                .register(meterRegistry)
+                .record(SqlStatementCounter.count());
+        SqlStatementCounter.reset();
+    }
+}
@@ -1,18 +1,26 @@
 package com.customer.transaction.validation;
 
 
+import lombok.val;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ValidationResult {
+    private static final ValidationResult OK = new ValidationResult(true, null);
+
     private final boolean valid;
     private final String message;
 
+    /**
+     * The shared result of every passed check; results are immutable, so the success path allocates nothing.
+     */
     public static ValidationResult ok() {
-        return new ValidationResult(true, null);
+        return OK;
     }
 
     public static ValidationResult fail(String message) {
@@ -40,6 +48,19 @@ public class ValidationResult {
         }
     }
 
+    /**
+     * All-errors mode: adds {@code fieldName} and the message to {@code errors} if invalid and returns the list to pass
+     * to the next check. Start with {@link List#of()}; a list is only allocated on the first failure.
+     */
+    public List<String> collectIfInvalid(String fieldName, List<String> errors) {
+        if (isValid()) {
+            return errors;
+        }
+        val result = errors.isEmpty() ? new ArrayList<String>(2) : errors;
+        result.add(fieldName + " " + getMessage());
+        return result;
+    }
+
     public boolean writeIfInvalid(String fieldName, HttpServletResponse response) throws IOException {
         if (!isValid()) {
             response.getWriter().write(HttpStatus.BAD_REQUEST.value()
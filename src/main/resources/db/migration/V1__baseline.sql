@@ -1,16 +1,3 @@
-DROP
-DATABASE IF EXISTS bank;
-
-CREATE
-DATABASE bank
-    CHARACTER SET utf8mb4
-    COLLATE utf8mb4_0900_ai_ci;
-USE
-bank;
-
-DROP TABLE IF EXISTS customer;
-DROP TABLE IF EXISTS transaction;
-
 CREATE TABLE customer
 (
 	id INT NOT NULL AUTO_INCREMENT primary key,
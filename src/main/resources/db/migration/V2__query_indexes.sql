@@ -0,0 +1,15 @@
+-- TransactionRepository: listings by customer, by customer and created window, export, aggregates and the daily
+-- summary rebuild. amount is part of the key so the aggregates are answered from the index alone.
+Create index idx_transaction_customer_created on transaction (customer_id, created, amount);
+
+-- CustomerLogRepository: findAllByCustomerId, findAllByCustomerIdAndCreatedBeforeAndCreatedAfter
+Create index idx_customer_log_customer_created on customer_log (customer_id, created);
+
+-- CustomerLogRepository: findAllByCreatedBeforeAndCreatedAfter
+Create index idx_customer_log_created on customer_log (created);
+
+-- CustomerRepository: findAllByFullName, findSliceByFullName
+Create index idx_customer_full_name on customer (full_name);
+
+-- CustomerRepository: findAllCustomersByBalanceBetween, findSliceCustomersByBalanceBetween
+Create index idx_customer_balance on customer (balance);
@@ -0,0 +1,19 @@
+-- Tables behind the pooled id generators (PooledIdGenerator), one row holding the next id block. They start after the
+-- highest id already in use, so existing databases keep generating fresh ids.
+Create table customer_seq
+(
+    next_val BIGINT NOT NULL
+);
+Insert into customer_seq select coalesce(max(id), 0) + 1 from customer;
+
+Create table transaction_seq
+(
+    next_val BIGINT NOT NULL
+);
+Insert into transaction_seq select coalesce(max(id), 0) + 1 from transaction;
+
+Create table customer_log_seq
+(
+    next_val BIGINT NOT NULL
+);
+Insert into customer_log_seq select coalesce(max(id), 0) + 1 from customer_log;
@@ -0,0 +1,14 @@
+-- Daily rollup of transactions per customer (CustomerDailySummaryService). It starts empty; existing transactions are
+-- backfilled with POST /v1/transactions/rebuild_daily_summary before bank.transaction.rollup.enabled is switched on.
+Create table customer_daily_summary
+(
+    customer_id INT NOT NULL,
+    summary_date DATE NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    amount_sum Double NOT NULL,
+    amount_min Double NOT NULL,
+    amount_max Double NOT NULL,
+    primary key (customer_id, summary_date),
+	FOREIGN KEY (customer_id) REFERENCES customer (id)
+    ON DELETE CASCADE ON UPDATE CASCADE
+);
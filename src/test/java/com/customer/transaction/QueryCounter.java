@@ -0,0 +1,39 @@
+package com.customer.transaction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements Hibernate prepares, based on the session factory statistics enabled in the test profile.
+ */
+@Component
+public class QueryCounter {
+    final Statistics statistics;
+
+    @Autowired
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long statements() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public long entityLoads() {
+        return statistics.getEntityLoadCount();
+    }
+
+    public long count(Runnable runnable) {
+        reset();
+        runnable.run();
+        return statements();
+    }
+}
@@ -46,11 +46,14 @@ public abstract class TestBase {
     @Autowired
     public ObjectMapper objectMapper;
 
+    @Autowired
+    public QueryCounter queryCounter;
+
     static {
         container = new MySQLContainer<>(IMAGE_VERSION)
                 .withUsername("test_user")
                 .withPassword("test_password")
-                .withInitScript("ddl.sql")
+                .withUrlParam("rewriteBatchedStatements", "true")
                 .withDatabaseName("bank");
         container.start();
     }
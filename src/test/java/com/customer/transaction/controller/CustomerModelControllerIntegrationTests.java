@@ -10,6 +10,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.server.ResponseStatusException;
 import org.testcontainers.shaded.org.apache.commons.lang3.StringUtils;
@@ -18,6 +19,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.*;
 
 
+@TestPropertySource(properties = "bank.customer.name-index.enabled=true")
 public class CustomerModelControllerIntegrationTests extends TestBase {
     private static CustomerModel newCustomer1Model;
     private static CustomerModel newCustomer2Model;
@@ -205,6 +207,45 @@ public class CustomerModelControllerIntegrationTests extends TestBase {
         }
     }
 
+    @Test
+    public void search_customers_by_partial_and_misspelled_full_name_test() {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/customers/search?fullName=");
+        val prefix = restTemplate.getForEntity(url.concat("test2 ful"), CustomerViewPagedData.class).getBody();
+        assertNotNull(prefix);
+        assertEquals(1, prefix.getNumberOfElements());
+        assertEquals(newCustomer2Model.getId(), prefix.getContent().get(0).getId());
+
+        val typo = restTemplate.getForEntity(url.concat("tset1 naem"), CustomerViewPagedData.class).getBody();
+        assertNotNull(typo);
+        assertEquals(1, typo.getNumberOfElements());
+        assertEquals(newCustomer1Model.getId(), typo.getContent().get(0).getId());
+
+        val both = restTemplate.getForEntity(url.concat("full&limit=1"), CustomerViewPagedData.class).getBody();
+        assertNotNull(both);
+        assertEquals(1, both.getNumberOfElements());
+    }
+
+    @Test
+    public void search_customers_by_full_name_with_exception_test() {
+        insertNewCustomer1();
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/customers/search?fullName=test3");
+        try {
+            restTemplate.getForEntity(url, CustomerViewPagedData.class);
+            fail("search without a match did not fail");
+        } catch (final HttpClientErrorException ex) {
+            assertThat(ex.getMessage(), containsString("404"));
+            assertThat(ex.getMessage(), containsString("test3"));
+        }
+    }
+
     @Test
     public void delete_customers_test() {
         insertNewCustomer1();
@@ -0,0 +1,52 @@
+package com.customer.transaction.controller;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.CustomerView;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpEntity;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsEndpointIntegrationTests extends TestBase {
+
+    @Before
+    public void setup() {
+        customerService.hardDeleteAll();
+    }
+
+    @Test
+    public void prometheus_endpoint_exposes_request_service_repository_and_pool_metrics_test() {
+        val saveUrl = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/customers/save");
+        restTemplate.postForEntity(saveUrl, new HttpEntity<>(CustomerView
+                .builder()
+                .fullName("metrics_full_name")
+                .phoneNumber("33333333333")
+                .balance(10.0)
+                .build()), CustomerView.class);
+
+        val scrape = restTemplate.getForObject(RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/actuator/prometheus"), String.class);
+
+        assertThat(scrape, containsString("http_server_requests_seconds{exception=\"None\",method=\"POST\",outcome=\"SUCCESS\",status=\"200\",uri=\"/v1/customers/save\",quantile=\"0.99\""));
+        assertThat(scrape, containsString("bank_service_seconds_count{class=\"com.customer.transaction.data.service.CustomerService\",exception=\"none\",method=\"save\""));
+        assertThat(scrape, containsString("spring_data_repository_invocations_seconds_count{exception=\"None\",method=\"save\",repository=\"CustomerRepository\""));
+        assertThat(scrape, containsString("hikaricp_connections_acquire_seconds_count"));
+
+        // the save checks the phone number, inserts the customer and writes its log row
+        val sqlStatements = Arrays.stream(scrape.split("\n"))
+                .filter(line -> line.startsWith("bank_http_sql_statements_sum{method=\"POST\",uri=\"/v1/customers/save\""))
+                .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .sum();
+        assertTrue(sqlStatements >= 3);
+    }
+}
@@ -1,14 +1,19 @@
 package com.customer.transaction.controller;
 import com.customer.transaction.RestConfiguration;
 import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.TransactionAggregateView;
+import com.customer.transaction.controller.View.TransactionBatchView;
 import com.customer.transaction.controller.View.TransactionView;
 import com.customer.transaction.controller.View.TransactionViewPagedData;
 import com.customer.transaction.data.model.CustomerModel;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.service.IdempotencyStore;
+import com.customer.transaction.util.SortDirection;
 import lombok.val;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,6 +23,8 @@ import org.testcontainers.shaded.org.apache.commons.lang3.StringUtils;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -175,6 +182,68 @@ public class TransactionModelControllerIntegrationTests extends TestBase {
         }
     }
 
+    @Test
+    public void get_transactions_without_totals_test() {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        insertNewTransaction1();
+        insertNewTransaction2();
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/find_all?pageSize=1&withTotals=false&pageNo=");
+
+        val first = restTemplate.getForEntity(url.concat("0"), TransactionViewPagedData.class).getBody();
+        assertNotNull(first);
+        assertEquals(1, first.getNumberOfElements());
+        assertEquals(0, first.getTotalElements());
+        assertEquals(0, first.getTotalPages());
+        assertTrue(first.getHasNext());
+
+        val second = restTemplate.getForEntity(url.concat("1"), TransactionViewPagedData.class).getBody();
+        assertNotNull(second);
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.getHasNext());
+
+        val withTotals = restTemplate.getForEntity(url.replace("withTotals=false", "withTotals=true").concat("0"), TransactionViewPagedData.class).getBody();
+        assertNotNull(withTotals);
+        assertEquals(2, withTotals.getTotalElements());
+        assertNull(withTotals.getHasNext());
+    }
+
+    @Test
+    public void get_transactions_with_cursor_test() {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        insertNewTransaction1();
+        insertNewTransaction2();
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/find_all?pageSize=1&sortBy=amount&sortDir=desc&after=");
+
+        val first = restTemplate.getForEntity(url, TransactionViewPagedData.class).getBody();
+        assertNotNull(first);
+        assertEquals(1, first.getNumberOfElements());
+        assertEquals(newTransaction1Model.getId(), first.getContent().get(0).getId());
+        assertNotNull(first.getNextCursor());
+
+        val second = restTemplate.getForEntity(url.concat(first.getNextCursor()), TransactionViewPagedData.class).getBody();
+        assertNotNull(second);
+        assertEquals(1, second.getNumberOfElements());
+        assertEquals(newTransaction2Model.getId(), second.getContent().get(0).getId());
+        assertNull(second.getNextCursor());
+
+        try {
+            restTemplate.getForEntity(url.concat("not_a_cursor"), TransactionViewPagedData.class);
+            fail();
+        } catch (final HttpClientErrorException ex) {
+            assertThat(ex.getMessage(), containsString("400"));
+        }
+    }
+
     @Test
     public void get_transactions_by_customer_test() {
         insertNewCustomer1();
@@ -321,6 +390,156 @@ public class TransactionModelControllerIntegrationTests extends TestBase {
         }
     }
 
+    @Test
+    public void insert_transaction_batch_test() {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        val transactionsToPost = List.of(
+                TransactionView.builder().amount(100.0).customerId(newCustomer1Model.getId()).build(),
+                TransactionView.builder().amount(-100.0).customerId(newCustomer1Model.getId()).build(),
+                TransactionView.builder().amount(200.0).customerId(null).build(),
+                TransactionView.builder().amount(300.0).customerId(newCustomer2Model.getId()).build(),
+                TransactionView.builder().amount(400.0).customerId(Integer.MAX_VALUE).build());
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save_batch");
+
+        val response = restTemplate.postForEntity(url, new HttpEntity<>(transactionsToPost), TransactionBatchView.class);
+
+        assertNotNull(response.getBody());
+        assertEquals(5, response.getBody().getNumberOfElements());
+        assertEquals(2, response.getBody().getNumberOfSaved());
+        assertEquals(3, response.getBody().getNumberOfRejected());
+
+        val content = response.getBody().getContent();
+        assertEquals(200, content.get(0).getStatus());
+        assertEquals(400, content.get(1).getStatus());
+        assertThat(content.get(1).getMessage(), containsString("must be greater than 0.0"));
+        assertEquals(406, content.get(2).getStatus());
+        assertThat(content.get(2).getMessage(), containsString("customerId must not be null"));
+        assertEquals(200, content.get(3).getStatus());
+        assertEquals(404, content.get(4).getStatus());
+
+        val found = transactionService.findById(content.get(3).getTransaction().getId());
+        assertEquals(newCustomer2Model.getId(), found.getCustomer().getId());
+        assertEquals(String.valueOf(300.0), found.getAmount().toString());
+    }
+
+    @Test
+    public void insert_transactions_with_idempotency_key_test() {
+        insertNewCustomer1();
+
+        val headers = new HttpHeaders();
+        headers.set(IdempotencyStore.HEADER, UUID.randomUUID().toString());
+        val transactionToPost = TransactionView.builder()
+                .amount(100.0)
+                .customerId(newCustomer1Model.getId())
+                .build();
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save");
+
+        val first = restTemplate.postForEntity(url, new HttpEntity<>(transactionToPost, headers), TransactionView.class);
+        val replay = restTemplate.postForEntity(url, new HttpEntity<>(transactionToPost, headers), TransactionView.class);
+
+        assertNotNull(first.getBody());
+        assertNotNull(replay.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(first.getBody().getId(), replay.getBody().getId());
+        assertEquals(1, transactionService.findAll(0, 10, "id", SortDirection.Ascending).getTotalElements());
+
+        try {
+            transactionToPost.setAmount(200.0);
+            restTemplate.postForEntity(url, new HttpEntity<>(transactionToPost, headers), TransactionView.class);
+            fail("a key reused for a different request did not fail");
+        } catch (final HttpClientErrorException ex) {
+            assertThat(ex.getMessage(), containsString("422"));
+        }
+
+        val batchUrl = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save_batch");
+        val batchToPost = List.of(TransactionView.builder().amount(300.0).customerId(newCustomer1Model.getId()).build());
+        val batch = restTemplate.postForEntity(batchUrl, new HttpEntity<>(batchToPost, headers), TransactionBatchView.class);
+        val batchReplay = restTemplate.postForEntity(batchUrl, new HttpEntity<>(batchToPost, headers), TransactionBatchView.class);
+
+        assertNotNull(batch.getBody());
+        assertNotNull(batchReplay.getBody());
+        assertEquals(batch.getBody().getContent().get(0).getTransaction().getId(),
+                batchReplay.getBody().getContent().get(0).getTransaction().getId());
+        assertEquals(2, transactionService.findAll(0, 10, "id", SortDirection.Ascending).getTotalElements());
+    }
+
+    @Test
+    public void aggregate_transactions_by_customer_test() {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        insertNewTransaction1();
+        insertNewTransaction2();
+        transactionService.save(TransactionModel
+                .builder()
+                .amount(3000.0)
+                .customer(newCustomer1Model)
+                .build());
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/aggregate_by_customer/");
+
+        val aggregate = restTemplate.getForEntity(url.concat(newCustomer1Model.getId().toString()), TransactionAggregateView.class).getBody();
+        assertNotNull(aggregate);
+        assertEquals(2, aggregate.getCount());
+        assertEquals(8000.0, aggregate.getSum(), 0.0);
+        assertEquals(3000.0, aggregate.getMin(), 0.0);
+        assertEquals(5000.0, aggregate.getMax(), 0.0);
+        assertEquals(4000.0, aggregate.getAverage(), 0.0);
+
+        val future = String.valueOf(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
+        val empty = restTemplate.getForEntity(url.concat(newCustomer1Model.getId().toString()).concat("?createdAfter=").concat(future), TransactionAggregateView.class).getBody();
+        assertNotNull(empty);
+        assertEquals(0, empty.getCount());
+        assertEquals(0.0, empty.getSum(), 0.0);
+        assertNull(empty.getAverage());
+
+        try {
+            restTemplate.getForEntity(url.concat(String.valueOf(Integer.MAX_VALUE)), TransactionAggregateView.class);
+            fail();
+        } catch (final HttpClientErrorException ex) {
+            assertThat(ex.getMessage(), containsString("404"));
+        }
+    }
+
+    @Test
+    public void export_transactions_by_customer_test() throws Exception {
+        insertNewCustomer1();
+        insertNewCustomer2();
+
+        insertNewTransaction1();
+        insertNewTransaction2();
+
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/export_by_customer/")
+                .concat(newCustomer1Model.getId().toString());
+
+        val response = restTemplate.getForEntity(url, String.class);
+        assertThat(String.valueOf(response.getHeaders().getContentType()), containsString("application/x-ndjson"));
+        assertNotNull(response.getBody());
+
+        val lines = response.getBody().split("\n");
+        assertEquals(1, lines.length);
+        val exported = objectMapper.readValue(lines[0], TransactionView.class);
+        assertEquals(newTransaction1Model.getId(), exported.getId());
+        assertEquals(newCustomer1Model.getId(), exported.getCustomerId());
+
+        val future = String.valueOf(Instant.now().plus(1, ChronoUnit.DAYS).toEpochMilli());
+        assertNull(restTemplate.getForEntity(url.concat("?createdAfter=").concat(future), String.class).getBody());
+    }
+
     @Test
     public void delete_transaction_test() {
         insertNewCustomer1();
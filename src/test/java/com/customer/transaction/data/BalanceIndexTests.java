@@ -0,0 +1,122 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.util.BalanceIndex;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class BalanceIndexTests {
+    private BalanceIndex index;
+
+    @Before
+    public void setup() {
+        index = new BalanceIndex();
+        index.put(1, 50.0);
+        index.put(2, 10.0);
+        index.put(3, 30.0);
+        index.put(4, 30.0);
+        index.put(5, 90.0);
+    }
+
+    @Test
+    public void counts_and_pages_by_balance_test() {
+        assertEquals(3, index.count(10.0, 30.0));
+        assertEquals(0, index.count(31.0, 49.0));
+        assertEquals(0, index.count(60.0, 20.0));
+        assertArrayEquals(new int[]{2, 3, 4, 1, 5}, index.rangeByBalance(0.0, 100.0, 0, 10, false));
+        assertArrayEquals(new int[]{4, 1}, index.rangeByBalance(0.0, 100.0, 2, 2, false));
+        assertArrayEquals(new int[]{5, 1, 4}, index.rangeByBalance(0.0, 100.0, 0, 3, true));
+        assertArrayEquals(new int[0], index.rangeByBalance(0.0, 100.0, 5, 3, false));
+    }
+
+    @Test
+    public void pages_by_id_test() {
+        assertArrayEquals(new int[]{1, 3, 4}, index.rangeById(30.0, 50.0, 0, 10, false));
+        assertArrayEquals(new int[]{3, 1}, index.rangeById(30.0, 50.0, 1, 2, true));
+        assertArrayEquals(new int[0], index.rangeById(30.0, 50.0, 3, 2, false));
+    }
+
+    @Test
+    public void moves_removes_and_adds_test() {
+        index.put(2, 70.0);
+        assertArrayEquals(new int[]{3, 4, 1, 2, 5}, index.rangeByBalance(0.0, 100.0, 0, 10, false));
+        index.put(5, 0.0);
+        assertArrayEquals(new int[]{5, 3, 4, 1, 2}, index.rangeByBalance(0.0, 100.0, 0, 10, false));
+        index.add(4, -0.5);
+        index.add(9, 1.0);
+        assertEquals(29.5, index.balanceOf(4), 0.0);
+        assertTrue(Double.isNaN(index.balanceOf(9)));
+        index.remove(3);
+        assertArrayEquals(new int[]{5, 4, 1, 2}, index.rangeByBalance(0.0, 100.0, 0, 10, false));
+        assertEquals(4, index.size());
+
+        index.clear();
+        assertEquals(0, index.count(0.0, 100.0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void sparse_ids_test() {
+        val sparse = new BalanceIndex();
+        sparse.putAll(new int[]{2_000_000_000, 7, 1_500_000_000}, new double[]{5.0, 1.0, 3.0}, 3);
+        sparse.put(Integer.MAX_VALUE, 2.0);
+        assertArrayEquals(new int[]{7, Integer.MAX_VALUE, 1_500_000_000, 2_000_000_000},
+                sparse.rangeByBalance(0.0, 10.0, 0, 10, false));
+        sparse.remove(1_500_000_000);
+        assertEquals(5.0, sparse.balanceOf(2_000_000_000), 0.0);
+        assertTrue(Double.isNaN(sparse.balanceOf(1_500_000_000)));
+        assertEquals(3, sparse.size());
+    }
+
+    @Test
+    public void random_changes_match_a_sorted_map_test() {
+        val random = new Random(7);
+        val expected = new TreeMap<Integer, Double>();
+        val large = new BalanceIndex();
+        for (int i = 0; i < 20_000; i++) {
+            val id = 1 + random.nextInt(5000);
+            val action = random.nextInt(10);
+            if (action == 0) {
+                large.remove(id);
+                expected.remove(id);
+            } else if (action < 4 && expected.containsKey(id)) {
+                val delta = random.nextInt(21) - 10.0;
+                large.add(id, delta);
+                expected.merge(id, delta, Double::sum);
+            } else {
+                val balance = (double) random.nextInt(1000);
+                large.put(id, balance);
+                expected.put(id, balance);
+            }
+        }
+        val byBalance = expected.entrySet().stream()
+                .filter(e -> e.getValue() >= 200.0 && e.getValue() <= 700.0)
+                .sorted(Comparator.<Map.Entry<Integer, Double>>comparingDouble(Map.Entry::getValue)
+                        .thenComparing(Map.Entry::getKey))
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+        val byId = Arrays.stream(byBalance).sorted().toArray();
+
+        assertEquals(expected.size(), large.size());
+        expected.forEach((id, balance) -> assertEquals(balance, large.balanceOf(id), 0.0));
+        assertEquals(byBalance.length, large.count(200.0, 700.0));
+        val loaded = new BalanceIndex();
+        loaded.putAll(expected.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                expected.values().stream().mapToDouble(Double::doubleValue).toArray(), expected.size());
+        assertArrayEquals(byBalance, loaded.rangeByBalance(200.0, 700.0, 0, Integer.MAX_VALUE, false));
+        loaded.put(byBalance[0], 1000.0);
+        assertEquals(byBalance.length - 1, loaded.count(200.0, 700.0));
+        assertArrayEquals(byBalance, large.rangeByBalance(200.0, 700.0, 0, Integer.MAX_VALUE, false));
+        assertArrayEquals(Arrays.copyOfRange(byId, 40, 60), large.rangeById(200.0, 700.0, 40, 20, false));
+        assertArrayEquals(Arrays.copyOfRange(byId, 100, byId.length), large.rangeById(200.0, 700.0, 100, Integer.MAX_VALUE, false));
+        assertEquals(byId[byId.length - 1], large.rangeById(200.0, 700.0, 0, 1, true)[0]);
+    }
+}
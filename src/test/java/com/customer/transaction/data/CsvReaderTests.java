@@ -0,0 +1,40 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.util.CsvReader;
+import lombok.val;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvReaderTests {
+
+    @Test
+    public void reads_plain_and_quoted_fields_test() throws IOException {
+        val reader = new CsvReader(new StringReader("\uFEFFa,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\r\n\n\"two\nlines\",2,3"));
+
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("two\nlines", "2", "3"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test(expected = IOException.class)
+    public void unterminated_quote_fails_test() throws IOException {
+        new CsvReader(new StringReader("a,\"b\n")).next();
+    }
+
+    @Test
+    public void format_round_trips_test() throws IOException {
+        val fields = List.of("plain", "with, comma", "with \"quote\"", "two\nlines", "");
+        val reader = new CsvReader(new StringReader(CsvReader.format(fields)));
+
+        assertEquals(fields, reader.next());
+    }
+}
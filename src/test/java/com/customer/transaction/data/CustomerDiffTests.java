@@ -0,0 +1,86 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.util.CustomerDiff;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Slf4j
+public class CustomerDiffTests {
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CustomerModel stored = CustomerModel.builder()
+            .id(1)
+            .fullName("test1_full_name")
+            .phoneNumber("11111111111")
+            .balance(30000.0)
+            .build();
+
+    private CustomerModel copy() {
+        return CustomerModel.builder()
+                .id(stored.getId())
+                .fullName(stored.getFullName())
+                .phoneNumber(stored.getPhoneNumber())
+                .balance(stored.getBalance())
+                .build();
+    }
+
+    @Test
+    public void unchanged_customer_has_no_changed_fields_test() {
+        assertEquals(CustomerDiff.NONE, CustomerDiff.changedFields(stored, copy()));
+    }
+
+    @Test
+    public void changed_values_contain_only_changed_fields_test() throws JsonProcessingException {
+        val incoming = copy();
+        incoming.setBalance(20.0);
+        incoming.setFullName("new full name");
+
+        val changedFields = CustomerDiff.changedFields(stored, incoming);
+
+        assertEquals(CustomerDiff.FULL_NAME | CustomerDiff.BALANCE, changedFields);
+        assertEquals(Map.of("fullName", "test1_full_name", "balance", 30000.0), CustomerDiff.changedValues(stored, changedFields));
+        assertEquals("{\"fullName\":\"new full name\",\"balance\":20.0}",
+                objectMapper.writeValueAsString(CustomerDiff.changedValues(incoming, changedFields)));
+    }
+
+    @Test
+    public void change_detection_allocation_test() throws JsonProcessingException {
+        val threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        val thread = Thread.currentThread().getId();
+        val incoming = copy();
+
+        var equal = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            equal += objectMapper.writeValueAsString(incoming).equals(objectMapper.writeValueAsString(stored)) ? 1 : 0;
+            equal += CustomerDiff.changedFields(stored, incoming) == CustomerDiff.NONE ? 1 : 0;
+        }
+
+        var start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            equal += objectMapper.writeValueAsString(incoming).equals(objectMapper.writeValueAsString(stored)) ? 1 : 0;
+        }
+        val serializationBytes = (threads.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+
+        start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            equal += CustomerDiff.changedFields(stored, incoming) == CustomerDiff.NONE ? 1 : 0;
+        }
+        val diffBytes = (threads.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+
+        log.info("Customer change detection >> double JSON serialization: {} B/save | field diff: {} B/save", serializationBytes, diffBytes);
+
+        assertEquals(4 * ITERATIONS, equal);
+        assertTrue(diffBytes < serializationBytes);
+    }
+}
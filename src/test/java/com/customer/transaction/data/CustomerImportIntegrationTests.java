@@ -0,0 +1,103 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.CustomerImportView;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.service.CustomerImportService;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+@Slf4j
+@TestPropertySource(properties = "bank.customer-import.chunk-size=100")
+public class CustomerImportIntegrationTests extends TestBase {
+    private static final int ROWS = 1000;
+
+    @Autowired
+    public CustomerImportService customerImportService;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerLogService.hardDeleteAll();
+    }
+
+    @Test
+    public void import_inserts_customers_and_logs_test() {
+        val csv = new StringBuilder("full_name,phone_number,balance\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("\"import, ").append(i).append("\",").append(10_000_000_000L + i).append(",").append(1.0 + i).append("\n");
+        }
+
+        val result = customerImportService.importCsv(new StringReader(csv.toString()));
+        log.info("Customer import throughput: {} rows/s", String.format("%.0f", result.getRowsPerSecond()));
+
+        assertEquals(ROWS, result.getRows());
+        assertEquals(ROWS, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertNull(result.getRejectionFile());
+        assertEquals(ROWS, customerService.findAll(0, 1, "id", SortDirection.Ascending).getTotalElements());
+        val logs = customerLogService.findAll(0, ROWS, "id", SortDirection.Ascending);
+        assertEquals(ROWS, logs.getTotalElements());
+        assertTrue(logs.getContent().stream().allMatch(l -> l.getLogType().equals("inserted")));
+    }
+
+    @Test
+    public void import_rejects_invalid_and_duplicate_rows_test() throws IOException {
+        customerService.save(CustomerModel.builder().fullName("stored").phoneNumber("11111111111").balance(1.0).build());
+
+        val csv = "full_name,phone_number,balance\n"
+                .concat("first,22222222222,10\n")
+                .concat("stored_again,11111111111,10\n")
+                .concat("second,22222222222,10\n")
+                .concat("no_phone,,10\n")
+                .concat("negative,33333333333,-1\n")
+                .concat("not_a_number,44444444444,abc\n")
+                .concat("too,many,fields,here\n");
+
+        val result = customerImportService.importCsv(new StringReader(csv));
+
+        assertEquals(7, result.getRows());
+        assertEquals(1, result.getImported());
+        assertEquals(6, result.getRejected());
+        val rejections = Files.readAllLines(Path.of(result.getRejectionFile()));
+        Files.delete(Path.of(result.getRejectionFile()));
+        assertEquals(7, rejections.size());
+        assertTrue(rejections.contains("3,406,phoneNumber: 11111111111 already exists,stored_again,11111111111,10"));
+        assertTrue(rejections.contains("4,406,phoneNumber: 22222222222 duplicates line 2,second,22222222222,10"));
+        assertTrue(rejections.contains("7,406,balance:abc,not_a_number,44444444444,abc"));
+        assertEquals(2, customerService.findAll(0, 1, "id", SortDirection.Ascending).getTotalElements());
+    }
+
+    @Test
+    public void import_endpoint_test() {
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/customers/import");
+        val headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        val response = restTemplate.postForEntity(url,
+                new HttpEntity<>("endpoint_1,55555555555,1\nendpoint_2,66666666666,2\n", headers), CustomerImportView.class);
+
+        assertEquals(2, response.getBody().getNumberOfRows());
+        assertEquals(2, response.getBody().getNumberOfImported());
+        assertEquals(0, response.getBody().getNumberOfRejected());
+    }
+}
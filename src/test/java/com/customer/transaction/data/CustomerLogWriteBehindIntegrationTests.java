@@ -0,0 +1,54 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.service.CustomerLogWriter;
+import com.customer.transaction.util.SortDirection;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.Assert.*;
+
+@TestPropertySource(properties = {
+        "bank.customer-log.write-behind.enabled=true",
+        "bank.customer-log.write-behind.flush-size=10",
+        "bank.customer-log.write-behind.flush-interval-ms=50"})
+public class CustomerLogWriteBehindIntegrationTests extends TestBase {
+    private static final int CUSTOMERS = 25;
+
+    @Autowired
+    public CustomerLogWriter customerLogWriter;
+
+    @Before
+    public void setup() {
+        customerService.hardDeleteAll();
+        customerLogService.hardDeleteAll();
+    }
+
+    @Test
+    public void write_behind_flushes_all_customer_logs_test() throws InterruptedException {
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customerService.save(CustomerModel
+                    .builder()
+                    .fullName("write_behind_".concat(String.valueOf(i)))
+                    .phoneNumber(String.valueOf(10_000_000_000L + i))
+                    .balance(100.0)
+                    .build());
+        }
+
+        val deadline = System.currentTimeMillis() + 5_000;
+        while (customerLogWriter.queueDepth() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200);
+
+        val logs = customerLogService.findAll(0, CUSTOMERS * 2, "id", SortDirection.Ascending);
+
+        assertEquals(0, customerLogWriter.queueDepth());
+        assertEquals(CUSTOMERS, logs.getTotalElements());
+        assertTrue(logs.getContent().stream().allMatch(l -> l.getLogType().equals("inserted")));
+    }
+}
@@ -190,6 +190,22 @@ public class CustomerModelServiceIntegrationTests extends TestBase {
         assertEquals(objectMapper.readValue(found.getNewVersion(), CustomerModel.class), updated);
     }
 
+    @Test
+    public void update_unchanged_customer_writes_no_audit_test() {
+        insertNewCustomer1();
+        customerService.save(CustomerModel
+                .builder()
+                .id(newCustomer1Model.getId())
+                .fullName(newCustomer1Model.getFullName())
+                .phoneNumber(newCustomer1Model.getPhoneNumber())
+                .balance(newCustomer1Model.getBalance())
+                .build());
+
+        val logs = customerLogService.findAllByCustomerId(newCustomer1Model.getId(), 0, 10, "id", SortDirection.of("asc"));
+        assertEquals(1, logs.getTotalElements());
+        assertTrue(logs.getContent().stream().noneMatch(l -> l.getLogType().equals("updated")));
+    }
+
     @Test
     public void delete_customer_audit_test() throws JsonProcessingException {
         insertNewCustomer1();
@@ -0,0 +1,155 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.service.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class IdempotencyStoreTests {
+    private static final byte[] REQUEST = IdempotencyStore.fingerprint("{\"amount\":10.0}".getBytes(StandardCharsets.UTF_8));
+    private static final byte[] OTHER_REQUEST = IdempotencyStore.fingerprint("{\"amount\":11.0}".getBytes(StandardCharsets.UTF_8));
+
+    private IdempotencyStore store;
+    private AtomicInteger runs;
+
+    @Before
+    public void setup() {
+        store = new IdempotencyStore(new SimpleMeterRegistry(), true, 100, 60_000, 5_000);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    public void replays_the_first_result_test() {
+        val first = store.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        val replay = store.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        val otherScope = store.execute("save_batch", "key-1", REQUEST, runs::incrementAndGet);
+
+        assertFalse(first.isReplayed());
+        assertTrue(replay.isReplayed());
+        assertEquals(Integer.valueOf(1), replay.getContent());
+        assertFalse(otherScope.isReplayed());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void runs_every_request_without_a_key_test() {
+        store.execute("save", null, null, runs::incrementAndGet);
+        store.execute("save", null, null, runs::incrementAndGet);
+        assertEquals(2, runs.get());
+
+        val disabled = new IdempotencyStore(new SimpleMeterRegistry(), false, 100, 60_000, 5_000);
+        disabled.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        disabled.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    public void rejects_invalid_and_reused_keys_test() {
+        store.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        val reused = assertThrows(ResponseStatusException.class, () -> store.execute("save", "key-1", OTHER_REQUEST, runs::incrementAndGet));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatus());
+        val blank = assertThrows(ResponseStatusException.class, () -> store.execute("save", " ", REQUEST, runs::incrementAndGet));
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getStatus());
+        val tooLong = assertThrows(ResponseStatusException.class,
+                () -> store.execute("save", "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), REQUEST, runs::incrementAndGet));
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatus());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void failures_release_the_key_test() {
+        assertThrows(ResponseStatusException.class, () -> store.execute("save", "key-1", REQUEST, () -> {
+            runs.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+        val retry = store.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        assertFalse(retry.isReplayed());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void concurrent_duplicates_wait_for_the_first_test() throws Exception {
+        val threads = 8;
+        val executor = Executors.newFixedThreadPool(threads);
+        val start = new CountDownLatch(1);
+        val results = new ArrayList<Future<Integer>>(threads);
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return store.execute("save", "key-1", REQUEST, () -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return runs.incrementAndGet();
+                }).getContent();
+            }));
+        }
+        start.countDown();
+        for (val result : results) {
+            assertEquals(Integer.valueOf(1), result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void a_full_store_does_not_evict_running_requests_test() throws Exception {
+        val meterRegistry = new SimpleMeterRegistry();
+        val small = new IdempotencyStore(meterRegistry, true, 1, 60_000, 5_000);
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val executor = Executors.newSingleThreadExecutor();
+        val first = executor.submit(() -> small.execute("save", "running", REQUEST, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return runs.incrementAndGet();
+        }));
+        started.await();
+        for (int i = 0; i < 10; i++) {
+            small.execute("save", "done-".concat(String.valueOf(i)), REQUEST, () -> 0);
+        }
+        release.countDown();
+
+        val duplicate = small.execute("save", "running", REQUEST, runs::incrementAndGet);
+        assertTrue(duplicate.isReplayed());
+        assertEquals(Integer.valueOf(1), duplicate.getContent());
+        assertEquals(Integer.valueOf(1), first.get(10, TimeUnit.SECONDS).getContent());
+        executor.shutdown();
+        assertEquals(1, runs.get());
+
+        val deadline = System.currentTimeMillis() + 5_000;
+        val evicted = meterRegistry.counter("bank.transaction.idempotency.evicted_before_ttl");
+        while (evicted.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(evicted.count() > 0);
+    }
+
+    @Test
+    public void keys_expire_after_the_ttl_test() throws Exception {
+        val shortLived = new IdempotencyStore(new SimpleMeterRegistry(), true, 100, 50, 5_000);
+        shortLived.execute("save", "key-1", REQUEST, runs::incrementAndGet);
+        Thread.sleep(100);
+        assertFalse(shortLived.execute("save", "key-1", REQUEST, runs::incrementAndGet).isReplayed());
+        assertEquals(2, runs.get());
+    }
+}
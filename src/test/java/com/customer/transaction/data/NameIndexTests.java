@@ -0,0 +1,98 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.util.NameIndex;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NameIndexTests {
+    private NameIndex index;
+
+    @Before
+    public void setup() {
+        index = new NameIndex();
+        index.put(1, "John Smith");
+        index.put(2, "Johnny Smithers");
+        index.put(3, "Jane Smith");
+        index.put(4, "José Ángel Núñez");
+        index.put(5, "Mary-Jane O'Brien");
+    }
+
+    @Test
+    public void splits_into_lower_case_words_without_accents_test() {
+        assertArrayEquals(new String[]{"jose", "angel", "nunez"}, NameIndex.split("José  Ángel Núñez"));
+        assertArrayEquals(new String[]{"mary", "jane", "o", "brien"}, NameIndex.split("Mary-Jane O'Brien"));
+        assertArrayEquals(new String[0], NameIndex.split(" - "));
+    }
+
+    @Test
+    public void exact_words_rank_before_prefixes_test() {
+        assertArrayEquals(new int[]{1, 2}, index.search("john smith", 10));
+        assertArrayEquals(new int[]{1, 3, 2}, index.search("smith", 10));
+        assertArrayEquals(new int[]{1, 2}, index.search("jo sm", 10));
+    }
+
+    @Test
+    public void one_edit_typos_match_test() {
+        assertArrayEquals(new int[]{1}, index.search("jhon smith", 10));
+        assertArrayEquals(new int[]{1, 3}, index.search("smiht", 10));
+        assertArrayEquals(new int[]{4}, index.search("nunes", 10));
+        assertArrayEquals(new int[0], index.search("smyht", 10));
+    }
+
+    @Test
+    public void limit_keeps_the_best_matches_test() {
+        assertArrayEquals(new int[]{1}, index.search("smith", 1));
+        assertArrayEquals(new int[]{3, 5}, index.search("jane", 10));
+    }
+
+    @Test
+    public void name_matching_with_several_words_is_returned_once_test() {
+        index.put(6, "Ann Annabel Annika");
+        assertArrayEquals(new int[]{6}, index.search("ann", 10));
+        assertArrayEquals(new int[]{6}, index.search("ann", 1));
+    }
+
+    @Test
+    public void put_replaces_and_remove_drops_a_name_test() {
+        index.put(1, "John Doe");
+        assertArrayEquals(new int[]{3, 2}, index.search("smith", 10));
+        assertArrayEquals(new int[]{1}, index.search("doe", 10));
+
+        index.remove(1);
+        assertArrayEquals(new int[0], index.search("doe", 10));
+        assertEquals(4, index.size());
+
+        index.clear();
+        assertArrayEquals(new int[0], index.search("smith", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void sparse_ids_test() {
+        val sparse = new NameIndex();
+        sparse.put(2_000_000_000, "John Smith");
+        sparse.put(7, "Jane Smith");
+        sparse.put(1_500_000_000, "Johnny Smithers");
+        sparse.put(Integer.MAX_VALUE, "John Smyth");
+        assertArrayEquals(new int[]{7, 2_000_000_000, 1_500_000_000, Integer.MAX_VALUE}, sparse.search("smith", 10));
+        assertArrayEquals(new int[]{2_000_000_000, Integer.MAX_VALUE, 1_500_000_000}, sparse.search("john", 10));
+        sparse.remove(2_000_000_000);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, 1_500_000_000}, sparse.search("john", 10));
+        assertEquals(3, sparse.size());
+    }
+
+    @Test
+    public void one_edit_apart_test() {
+        val search = new NameIndex();
+        search.put(7, "abcdef");
+        assertArrayEquals(new int[]{7}, search.search("abdcef", 1));
+        assertArrayEquals(new int[]{7}, search.search("abxdef", 1));
+        assertArrayEquals(new int[]{7}, search.search("abcdefg", 1));
+        assertArrayEquals(new int[]{7}, search.search("acdef", 1));
+        assertArrayEquals(new int[0], search.search("badcfe", 1));
+        assertArrayEquals(new int[0], search.search("abcdxy", 1));
+    }
+}
@@ -0,0 +1,153 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.repository.CustomerDailySummaryRepository;
+import com.customer.transaction.data.repository.CustomerLogRepository;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.repository.TransactionRepository;
+import com.customer.transaction.data.util.SqlStatementCounter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Runs the filtering repository queries, captures the SQL Hibernate generated for them through
+ * {@link SqlStatementCounter} and fails if {@code EXPLAIN} shows that MySQL would read a whole table. A {@code null}
+ * access type means MySQL found out while planning that there is nothing to read.
+ */
+@Slf4j
+public class SchemaIndexIntegrationTests extends TestBase {
+    private static final int CUSTOMERS = 200;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 50;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    public JdbcTemplate jdbcTemplate;
+    @Autowired
+    public TransactionRepository transactionRepository;
+    @Autowired
+    public CustomerDailySummaryRepository customerDailySummaryRepository;
+    @Autowired
+    public CustomerLogRepository customerLogRepository;
+    @Autowired
+    public CustomerRepository customerRepository;
+
+    private static CustomerModel customerModel;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerLogService.hardDeleteAll();
+
+        for (int c = 0; c < CUSTOMERS; c++) {
+            customerModel = customerService.save(CustomerModel
+                    .builder()
+                    .fullName("index_full_name_".concat(String.valueOf(c)))
+                    .phoneNumber(String.valueOf(20_000_000_000L + c))
+                    .balance(100.0 * c)
+                    .build());
+            val batch = new ArrayList<TransactionModel>(TRANSACTIONS_PER_CUSTOMER);
+            for (int i = 0; i < TRANSACTIONS_PER_CUSTOMER; i++) {
+                batch.add(TransactionModel.builder().amount(1.0 + i).customer(customerModel).build());
+            }
+            transactionService.saveBatch(batch);
+        }
+        jdbcTemplate.execute("analyze table bank.customer, bank.transaction, bank.customer_log, bank.customer_daily_summary");
+    }
+
+    private static List<String> generated(Runnable query) {
+        SqlStatementCounter.record();
+        try {
+            query.run();
+        } catch (final RuntimeException ex) {
+            SqlStatementCounter.recorded();
+            throw ex;
+        }
+        return SqlStatementCounter.recorded();
+    }
+
+    /**
+     * EXPLAINs every statement {@code query} generated. The arguments are bound in placeholder order; a statement with
+     * fewer placeholders, like the count query of a page without its {@code limit}, takes the leading ones.
+     */
+    private void assertNoFullTableScan(Runnable query, Object... args) {
+        val statements = generated(query);
+        assertFalse("no SQL captured", statements.isEmpty());
+        for (val sql : statements) {
+            val placeholders = (int) sql.chars().filter(c -> c == '?').count();
+            for (val row : jdbcTemplate.queryForList("explain ".concat(sql), Arrays.copyOf(args, placeholders))) {
+                log.info("EXPLAIN {} >> table: {} | type: {} | key: {}", sql, row.get("table"), row.get("type"), row.get("key"));
+                assertNotEquals(sql, "ALL", row.get("type"));
+                if (Objects.nonNull(row.get("type"))) {
+                    assertNotNull(sql, row.get("key"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void transaction_queries_use_indexes_test() {
+        val customerId = customerModel.getId();
+        val createdAfter = new Date(System.currentTimeMillis() - 60_000);
+        val createdBefore = new Date(System.currentTimeMillis() + 60_000);
+
+        assertNoFullTableScan(() -> transactionRepository.findAllSummariesByCustomerId(customerId,
+                        PageRequest.of(0, PAGE_SIZE, Sort.by("id"))),
+                customerId, PAGE_SIZE);
+        assertNoFullTableScan(() -> transactionRepository.findAllSummariesByCustomerIdAndCreatedBeforeAndCreatedAfter(
+                        customerId, createdBefore, createdAfter, PageRequest.of(0, PAGE_SIZE, Sort.by("created"))),
+                customerId, createdBefore, createdAfter, PAGE_SIZE);
+        assertNoFullTableScan(() -> transactionRepository.aggregateByCustomerId(customerId, createdAfter, createdBefore),
+                customerId, createdAfter, createdBefore);
+        // the whole days come from the rollup, the partial ones at both ends from the raw rows
+        assertNoFullTableScan(() -> customerDailySummaryRepository.aggregateByCustomerId(customerId, createdAfter, createdBefore),
+                customerId, createdAfter, createdBefore, createdAfter, createdBefore);
+    }
+
+    @Test
+    public void customer_log_queries_use_indexes_test() {
+        val customerId = customerModel.getId();
+        val createdAfter = new Date(System.currentTimeMillis() - 2 * 86_400_000L);
+        val createdBefore = new Date(System.currentTimeMillis() - 86_400_000L);
+
+        assertNoFullTableScan(() -> customerLogRepository.findAllByCustomerId(customerId,
+                        PageRequest.of(0, PAGE_SIZE, Sort.by("id"))),
+                customerId, PAGE_SIZE);
+        assertNoFullTableScan(() -> customerLogRepository.findAllByCustomerIdAndCreatedBeforeAndCreatedAfter(customerId,
+                        createdBefore, createdAfter, PageRequest.of(0, PAGE_SIZE)),
+                customerId, createdBefore, createdAfter, PAGE_SIZE);
+        assertNoFullTableScan(() -> customerLogRepository.findAllByCreatedBeforeAndCreatedAfter(createdBefore,
+                        createdAfter, PageRequest.of(0, PAGE_SIZE)),
+                createdBefore, createdAfter, PAGE_SIZE);
+    }
+
+    @Test
+    public void customer_queries_use_indexes_test() {
+        assertNoFullTableScan(() -> customerRepository.findAllByFullName(customerModel.getFullName(),
+                        PageRequest.of(0, PAGE_SIZE)),
+                customerModel.getFullName(), PAGE_SIZE);
+        assertNoFullTableScan(() -> customerRepository.findAllCustomersByBalanceBetween(100.0, 300.0,
+                        PageRequest.of(0, PAGE_SIZE)),
+                100.0, 300.0, PAGE_SIZE);
+        assertNoFullTableScan(() -> customerRepository.existsByPhoneNumber(customerModel.getPhoneNumber()),
+                customerModel.getPhoneNumber(), 1);
+    }
+}
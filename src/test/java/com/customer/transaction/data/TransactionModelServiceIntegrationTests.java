@@ -3,6 +3,7 @@ package com.customer.transaction.data;
 import com.customer.transaction.TestBase;
 import com.customer.transaction.data.model.CustomerModel;
 import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
 import com.customer.transaction.data.util.GenericPagedModel;
 import com.customer.transaction.util.SortDirection;
 import lombok.val;
@@ -57,7 +58,7 @@ public class TransactionModelServiceIntegrationTests extends TestBase {
                 .build());
     }
 
-    public void testCollection(GenericPagedModel<TransactionModel> transaction) {
+    public void testCollection(GenericPagedModel<TransactionSummary> transaction) {
         assertFalse(transaction.getContent().isEmpty());
 
         assertTrue(transaction.getContent()
@@ -69,20 +70,20 @@ public class TransactionModelServiceIntegrationTests extends TestBase {
                 .anyMatch(t -> t.getId().equals(newTransaction2Model.getId())));
     }
 
-    public void testCollectionOfOne(GenericPagedModel<TransactionModel> transaction) {
+    public void testCollectionOfOne(GenericPagedModel<TransactionSummary> transaction) {
         assertFalse(transaction.getContent().isEmpty());
 
         assertTrue(transaction.getContent()
                 .stream()
-                .allMatch(t -> t.getCustomer().getId().equals(newCustomer1Model.getId())));
+                .allMatch(t -> t.getCustomerId().equals(newCustomer1Model.getId())));
     }
 
-    public void testCollectionOfTwo(GenericPagedModel<TransactionModel> transaction) {
+    public void testCollectionOfTwo(GenericPagedModel<TransactionSummary> transaction) {
         assertFalse(transaction.getContent().isEmpty());
 
         assertTrue(transaction.getContent()
                 .stream()
-                .allMatch(t -> t.getCustomer().getId().equals(newCustomer2Model.getId())));
+                .allMatch(t -> t.getCustomerId().equals(newCustomer2Model.getId())));
     }
 
     @Before
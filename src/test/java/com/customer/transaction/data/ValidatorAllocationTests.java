@@ -0,0 +1,85 @@
+package com.customer.transaction.data;
+
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.validator.CustomerValidatorImpl;
+import com.customer.transaction.data.validator.TransactionValidatorImpl;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Slf4j
+public class ValidatorAllocationTests {
+    private static final int ITERATIONS = 100_000;
+
+    private final CustomerValidatorImpl customerValidator = new CustomerValidatorImpl();
+    private final TransactionValidatorImpl transactionValidator = new TransactionValidatorImpl();
+
+    private final CustomerModel customer = CustomerModel.builder()
+            .id(1)
+            .fullName("test1_full_name")
+            .phoneNumber("11111111111")
+            .balance(30000.0)
+            .build();
+
+    private final TransactionModel transaction = TransactionModel.builder()
+            .amount(10.0)
+            .customer(customer)
+            .build();
+
+    @Test
+    public void validate_all_reports_every_invalid_field_test() {
+        val errors = customerValidator.validateAll(CustomerModel.builder().fullName(" ").balance(-1.0).build());
+
+        assertEquals(List.of("Customer full name must not be empty.", "Customer phone number must not be empty.",
+                "Customer balance must be greater than 0.0."), errors);
+        assertEquals(List.of("Customer ID must not be null.", "Transaction amount must not be null."),
+                transactionValidator.validateAll(TransactionModel.builder().build()));
+        assertTrue(customerValidator.validateAll(customer).isEmpty());
+        assertTrue(transactionValidator.validateAll(transaction).isEmpty());
+    }
+
+    @Test
+    public void validate_stops_at_first_invalid_field_test() {
+        try {
+            customerValidator.validate(CustomerModel.builder().fullName("test1_full_name").phoneNumber(" ").balance(-1.0).build());
+            fail();
+        } catch (final ResponseStatusException ex) {
+            assertEquals("Customer phone number must not be empty.", ex.getReason());
+        }
+    }
+
+    @Test
+    public void success_path_allocation_test() {
+        var valid = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            customerValidator.validate(customer);
+            transactionValidator.validate(transaction);
+            valid += customerValidator.validateAll(customer).size() + transactionValidator.validateAll(transaction).size();
+        }
+
+        val threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        val thread = Thread.currentThread().getId();
+        val start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            customerValidator.validate(customer);
+            transactionValidator.validate(transaction);
+            valid += customerValidator.validateAll(customer).size() + transactionValidator.validateAll(transaction).size();
+        }
+        val bytes = threads.getThreadAllocatedBytes(thread) - start;
+
+        log.info("Validation success path >> ".concat(String.valueOf(bytes)).concat(" B for ")
+                .concat(String.valueOf(ITERATIONS)).concat(" customers and ").concat(String.valueOf(ITERATIONS))
+                .concat(" transactions, each validated in both modes"));
+
+        assertEquals(0, valid);
+        // getThreadAllocatedBytes itself may allocate its result, everything else must be allocation free
+        assertTrue(bytes < 1024);
+    }
+}
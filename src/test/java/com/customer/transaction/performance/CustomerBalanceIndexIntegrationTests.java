@@ -0,0 +1,105 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.repository.CustomerRepository;
+import com.customer.transaction.data.service.CustomerImportService;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Slf4j
+@TestPropertySource(properties = {"bank.customer.balance-index.enabled=true", "bank.transaction.ledger.enabled=true"})
+public class CustomerBalanceIndexIntegrationTests extends TestBase {
+    private static final int ROWS = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int QUERIES = 200;
+
+    @Autowired
+    public CustomerImportService customerImportService;
+    @Autowired
+    public CustomerRepository customerRepository;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+    }
+
+    @Test
+    public void index_pages_match_the_database_query_test() {
+        val csv = new StringBuilder("full_name,phone_number,balance\n");
+        for (int i = 0; i < ROWS; i++) {
+            // distinct balances in shuffled id order, so both sort orders are fully determined
+            csv.append("balance_").append(i).append(",").append(30_000_000_000L + i).append(",")
+                    .append((i * 7919L) % ROWS * 0.5).append("\n");
+        }
+        assertEquals(ROWS, customerImportService.importCsv(new StringReader(csv.toString())).getImported());
+
+        var databaseNanos = 0L;
+        var indexNanos = 0L;
+        for (int q = 0; q < QUERIES; q++) {
+            val min = (q * 37 % 100) * ROWS / 200.0;
+            val max = min + ROWS / 8.0;
+            val sortBy = q % 2 == 0 ? "balance" : "id";
+            val direction = q % 4 < 2 ? SortDirection.Ascending : SortDirection.Descending;
+            val page = q % 5;
+
+            var start = System.nanoTime();
+            val expected = customerRepository.findAllCustomersByBalanceBetween(min, max, PageRequest.of(page, PAGE_SIZE,
+                    direction.equals(SortDirection.Ascending) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending()));
+            databaseNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            val actual = customerService.findAllCustomersByBalanceBetween(min, max, page, PAGE_SIZE, sortBy, direction, true);
+            indexNanos += System.nanoTime() - start;
+
+            assertEquals(expected.getTotalElements(), actual.getTotalElements());
+            assertEquals(expected.getTotalPages(), actual.getTotalPages());
+            assertEquals(ids(expected.getContent()), ids(actual.getContent()));
+        }
+
+        log.info("Balance range pages of {} over {} customers >> database query: {} ms/page | index: {} ms/page",
+                PAGE_SIZE, ROWS, String.format("%.2f", databaseNanos / 1e6 / QUERIES), String.format("%.2f", indexNanos / 1e6 / QUERIES));
+        assertTrue(indexNanos < databaseNanos);
+    }
+
+    @Test
+    public void ledger_transactions_and_deletes_move_customers_in_the_index_test() {
+        val customer = customerService.save(CustomerModel.builder()
+                .fullName("balance_index_full_name")
+                .phoneNumber("55555555555")
+                .balance(100.0)
+                .build());
+        assertEquals(1, customerService.findAllCustomersByBalanceBetween(90.0, 110.0, 0, 10, "id", SortDirection.Ascending).getTotalElements());
+
+        transactionService.save(TransactionModel.builder().amount(50.0).customer(customer).build());
+        assertEquals(1, customerService.findAllCustomersByBalanceBetween(140.0, 160.0, 0, 10, "balance", SortDirection.Ascending).getTotalElements());
+        assertThrows(ResponseStatusException.class,
+                () -> customerService.findAllCustomersByBalanceBetween(90.0, 110.0, 0, 10, "id", SortDirection.Ascending));
+
+        customerService.hardDelete(customer.getId());
+        assertThrows(ResponseStatusException.class,
+                () -> customerService.findAllCustomersByBalanceBetween(140.0, 160.0, 0, 10, "balance", SortDirection.Ascending));
+    }
+
+    private static List<Integer> ids(Iterable<CustomerModel> customers) {
+        val ids = new ArrayList<Integer>();
+        customers.forEach(c -> ids.add(c.getId()));
+        return ids;
+    }
+}
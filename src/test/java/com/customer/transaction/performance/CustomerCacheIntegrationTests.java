@@ -0,0 +1,99 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.TransactionView;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.service.CustomerCache;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@Slf4j
+public class CustomerCacheIntegrationTests extends TestBase {
+    private static final int SAVES = 100;
+
+    @Autowired
+    public CustomerCache customerCache;
+
+    private static CustomerModel customerModel;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerModel = customerService.save(CustomerModel
+                .builder()
+                .fullName("cache_full_name")
+                .phoneNumber("66666666666")
+                .balance(1000.0)
+                .build());
+    }
+
+    private void postTransaction(String url, int i) {
+        restTemplate.postForEntity(url, new HttpEntity<>(TransactionView.builder()
+                .amount(1.0 + i)
+                .customerId(customerModel.getId())
+                .build()), TransactionView.class);
+    }
+
+    @Test
+    public void statements_per_transaction_save_test() {
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save");
+
+        postTransaction(url, 0);
+
+        var uncached = 0L;
+        for (int i = 0; i < SAVES; i++) {
+            customerCache.invalidateAll();
+            val index = i;
+            uncached += queryCounter.count(() -> postTransaction(url, index));
+        }
+
+        postTransaction(url, 0);
+        val hitsBefore = customerCache.stats().hitCount();
+        val cached = queryCounter.count(() -> {
+            for (int i = 0; i < SAVES; i++) {
+                postTransaction(url, i);
+            }
+        });
+
+        log.info("Statements per transaction save >> customer cache miss: {} | customer cache hit: {} | stats: {}",
+                String.format("%.2f", uncached / (double) SAVES), String.format("%.2f", cached / (double) SAVES), customerCache.stats());
+
+        assertEquals(SAVES, customerCache.stats().hitCount() - hitsBefore);
+        assertTrue(cached < uncached);
+    }
+
+    @Test
+    public void save_and_delete_invalidate_test() {
+        assertEquals(1000.0, customerService.findById(customerModel.getId()).getBalance(), 0.0);
+
+        customerService.save(CustomerModel
+                .builder()
+                .id(customerModel.getId())
+                .fullName(customerModel.getFullName())
+                .phoneNumber(customerModel.getPhoneNumber())
+                .balance(2000.0)
+                .build());
+        assertEquals(2000.0, customerService.findById(customerModel.getId()).getBalance(), 0.0);
+
+        customerService.hardDelete(customerModel.getId());
+        try {
+            customerService.findById(customerModel.getId());
+            fail();
+        } catch (final ResponseStatusException ex) {
+            assertTrue(ex.getMessage().contains("404"));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.CustomerView;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.util.SortDirection;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+@TestPropertySource(properties = "bank.customer.phone-filter.enabled=true")
+public class CustomerPhoneUniquenessIntegrationTests extends TestBase {
+    private static final int THREADS = 8;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+    }
+
+    private CustomerModel newCustomer(String fullName, String phoneNumber) {
+        return CustomerModel.builder()
+                .fullName(fullName)
+                .phoneNumber(phoneNumber)
+                .balance(100.0)
+                .build();
+    }
+
+    @Test
+    public void concurrent_creates_of_one_phone_number_have_one_winner_test() throws Exception {
+        val url = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/customers/save");
+        val executor = Executors.newFixedThreadPool(THREADS);
+        val start = new CountDownLatch(1);
+        val statuses = new ArrayList<Future<Integer>>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            val customer = CustomerView.builder()
+                    .fullName("racer_".concat(String.valueOf(i)))
+                    .phoneNumber("12121212121")
+                    .balance(100.0)
+                    .build();
+            statuses.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return restTemplate.postForEntity(url, new HttpEntity<>(customer), CustomerView.class).getStatusCodeValue();
+                } catch (final HttpClientErrorException ex) {
+                    assertThat(ex.getMessage(), containsString("already exists"));
+                    return ex.getRawStatusCode();
+                }
+            }));
+        }
+        start.countDown();
+
+        var created = 0;
+        var rejected = 0;
+        for (val status : statuses) {
+            switch (status.get(30, TimeUnit.SECONDS)) {
+                case 200 -> created++;
+                case 406 -> rejected++;
+                default -> fail("unexpected status");
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(THREADS - 1, rejected);
+        assertEquals(1, customerService.findAll(0, 10, "id", SortDirection.Ascending).getTotalElements());
+    }
+
+    @Test
+    public void create_runs_no_phone_number_lookup_test() {
+        // reserve the id blocks of customer and customer_log first
+        customerService.save(newCustomer("warm_up", "10000000000"));
+
+        val statements = queryCounter.count(() -> customerService.save(newCustomer("new_phone", "20000000000")));
+
+        // one insert into customer and one into customer_log, no select of the phone number
+        assertEquals(2, statements);
+    }
+
+    @Test
+    public void known_phone_number_is_rejected_by_lookup_without_insert_test() {
+        customerService.save(newCustomer("first", "30000000000"));
+
+        queryCounter.reset();
+        try {
+            customerService.save(newCustomer("second", "30000000000"));
+            fail("duplicate phone number was saved");
+        } catch (final ResponseStatusException ex) {
+            assertThat(ex.getMessage(), containsString("406"));
+            assertThat(ex.getMessage(), containsString("30000000000 already exists"));
+        }
+
+        assertEquals(1, queryCounter.statements());
+    }
+}
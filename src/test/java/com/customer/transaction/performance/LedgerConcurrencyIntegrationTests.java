@@ -0,0 +1,111 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@Slf4j
+@TestPropertySource(properties = "bank.transaction.ledger.enabled=true")
+public class LedgerConcurrencyIntegrationTests extends TestBase {
+    private static final int THREADS = 16;
+    private static final int TRANSACTIONS_PER_THREAD = 50;
+    private static final double INITIAL_BALANCE = 1000.0;
+    private static final double AMOUNT = 1.0;
+
+    private CustomerModel insertCustomer(String phoneNumber) {
+        return customerService.save(CustomerModel
+                .builder()
+                .fullName("ledger_full_name")
+                .phoneNumber(phoneNumber)
+                .balance(INITIAL_BALANCE)
+                .build());
+    }
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+    }
+
+    @Test
+    public void ledger_concurrent_saves_on_hot_customers_lose_no_updates_test() throws Exception {
+        val customers = List.of(insertCustomer("11111111111"), insertCustomer("22222222222"));
+        val executor = Executors.newFixedThreadPool(THREADS);
+
+        val start = System.nanoTime();
+        val futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < THREADS; t++) {
+            val customer = customers.get(t % customers.size());
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+                    transactionService.save(TransactionModel.builder().amount(AMOUNT).customer(customer).build());
+                }
+            }));
+        }
+        for (val future : futures) {
+            future.get();
+        }
+        val seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        shutdown(executor);
+
+        val transactionsPerCustomer = THREADS / customers.size() * TRANSACTIONS_PER_THREAD;
+        for (val customer : customers) {
+            val found = customerService.findById(customer.getId());
+            assertEquals(INITIAL_BALANCE + transactionsPerCustomer * AMOUNT, found.getBalance(), 0.0);
+        }
+
+        log.info("Ledger throughput >> {} writers on {} customers: {} transactions/s per customer",
+                THREADS, customers.size(), String.format("%.0f", transactionsPerCustomer / seconds));
+    }
+
+    @Test
+    public void ledger_update_and_delete_reverse_previous_amount_test() {
+        val customer = insertCustomer("33333333333");
+
+        val saved = transactionService.save(TransactionModel.builder().amount(100.0).customer(customer).build());
+        assertEquals(INITIAL_BALANCE + 100.0, customerService.findById(customer.getId()).getBalance(), 0.0);
+
+        transactionService.save(TransactionModel.builder().id(saved.getId()).amount(40.0).customer(customer).build());
+        assertEquals(INITIAL_BALANCE + 40.0, customerService.findById(customer.getId()).getBalance(), 0.0);
+
+        transactionService.hardDelete(saved.getId());
+        assertEquals(INITIAL_BALANCE, customerService.findById(customer.getId()).getBalance(), 0.0);
+    }
+
+    @Test
+    public void ledger_customer_update_keeps_stored_balance_test() {
+        val customer = insertCustomer("44444444444");
+        transactionService.save(TransactionModel.builder().amount(100.0).customer(customer).build());
+
+        val updated = customerService.save(CustomerModel
+                .builder()
+                .id(customer.getId())
+                .fullName("ledger_renamed")
+                .phoneNumber(customer.getPhoneNumber())
+                .balance(0.0)
+                .build());
+
+        assertEquals("ledger_renamed", updated.getFullName());
+        assertEquals(INITIAL_BALANCE + 100.0, updated.getBalance(), 0.0);
+        assertEquals(INITIAL_BALANCE + 100.0, customerService.findById(customer.getId()).getBalance(), 0.0);
+    }
+
+    private void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
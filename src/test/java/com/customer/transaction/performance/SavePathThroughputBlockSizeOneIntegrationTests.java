@@ -0,0 +1,11 @@
+package com.customer.transaction.performance;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the save path throughput tests with an id block size of one, i.e. one sequence table round trip per insert
+ * like the former {@code GenerationType.AUTO} mapping, as the baseline for the pooled block size.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.bank.id.block-size=1")
+public class SavePathThroughputBlockSizeOneIntegrationTests extends SavePathThroughputIntegrationTests {
+}
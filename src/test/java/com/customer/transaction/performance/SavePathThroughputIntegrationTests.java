@@ -0,0 +1,124 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.TransactionBatchView;
+import com.customer.transaction.controller.View.TransactionView;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class SavePathThroughputIntegrationTests extends TestBase {
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    private static CustomerModel customerModel;
+
+    @Value("${spring.jpa.properties.bank.id.block-size}")
+    public int idBlockSize;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerModel = customerService.save(CustomerModel
+                .builder()
+                .fullName("throughput_full_name")
+                .phoneNumber("99999999999")
+                .balance(1000.0)
+                .build());
+    }
+
+    private TransactionView newTransactionView(int i) {
+        return TransactionView.builder()
+                .amount(1.0 + i)
+                .customerId(customerModel.getId())
+                .build();
+    }
+
+    private double rowsPerSecond(int rows, long startNanos) {
+        return rows / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    @Test
+    public void customer_and_transaction_service_save_throughput_test() {
+        customerService.save(CustomerModel.builder().fullName("warm_up").phoneNumber("88888888888").balance(1.0).build());
+
+        val customerStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            customerService.save(CustomerModel
+                    .builder()
+                    .fullName("throughput_".concat(String.valueOf(i)))
+                    .phoneNumber(String.valueOf(10_000_000_000L + i))
+                    .balance(1.0 + i)
+                    .build());
+        }
+        val customerInsertsPerSecond = rowsPerSecond(ROWS, customerStart);
+
+        val transactionStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            transactionService.save(TransactionModel
+                    .builder()
+                    .amount(1.0 + i)
+                    .customer(customerModel)
+                    .build());
+        }
+        val transactionInsertsPerSecond = rowsPerSecond(ROWS, transactionStart);
+
+        log.info("Service save throughput with id block size {} >> CustomerService.save: {} inserts/s | TransactionService.save: {} inserts/s",
+                idBlockSize, String.format("%.0f", customerInsertsPerSecond), String.format("%.0f", transactionInsertsPerSecond));
+
+        assertEquals(ROWS + 2, customerService.findAll(0, 1, "id", SortDirection.Ascending).getTotalElements());
+    }
+
+    @Test
+    public void transaction_single_vs_batch_save_throughput_test() {
+        val singleUrl = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save");
+        val batchUrl = RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat("/v1/transactions/save_batch");
+
+        // warm up both paths so the comparison does not include JIT and connection pool start-up
+        restTemplate.postForEntity(singleUrl, new HttpEntity<>(newTransactionView(0)), TransactionView.class);
+        restTemplate.postForEntity(batchUrl, new HttpEntity<>(List.of(newTransactionView(0))), TransactionBatchView.class);
+
+        val singleStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            restTemplate.postForEntity(singleUrl, new HttpEntity<>(newTransactionView(i)), TransactionView.class);
+        }
+        val singleRowsPerSecond = rowsPerSecond(ROWS, singleStart);
+
+        val batchStart = System.nanoTime();
+        var saved = 0;
+        for (int from = 0; from < ROWS; from += BATCH_SIZE) {
+            val batch = new ArrayList<TransactionView>(BATCH_SIZE);
+            for (int i = from; i < from + BATCH_SIZE; i++) {
+                batch.add(newTransactionView(i));
+            }
+            val response = restTemplate.postForEntity(batchUrl, new HttpEntity<>(batch), TransactionBatchView.class);
+            saved += response.getBody().getNumberOfSaved();
+        }
+        val batchRowsPerSecond = rowsPerSecond(ROWS, batchStart);
+
+        log.info("Transaction save throughput with id block size {} >> single: {} rows/s | batch of {}: {} rows/s",
+                idBlockSize, String.format("%.0f", singleRowsPerSecond), BATCH_SIZE, String.format("%.0f", batchRowsPerSecond));
+
+        assertEquals(ROWS, saved);
+        assertTrue(batchRowsPerSecond > singleRowsPerSecond);
+    }
+}
@@ -0,0 +1,77 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.model.TransactionSummary;
+import com.customer.transaction.util.SortDirection;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class TransactionAggregateIntegrationTests extends TestBase {
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int PAGE_SIZE = 1000;
+
+    private static CustomerModel customerModel;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerModel = customerService.save(CustomerModel
+                .builder()
+                .fullName("aggregate_full_name")
+                .phoneNumber("44444444444")
+                .balance(1000.0)
+                .build());
+
+        for (int from = 0; from < ROWS; from += BATCH_SIZE) {
+            val batch = new ArrayList<TransactionModel>(BATCH_SIZE);
+            for (int i = from; i < from + BATCH_SIZE; i++) {
+                batch.add(TransactionModel.builder().amount(1.0 + i % 100).customer(customerModel).build());
+            }
+            transactionService.saveBatch(batch);
+        }
+    }
+
+    @Test
+    public void aggregate_vs_paging_test() {
+        val pagingStart = System.nanoTime();
+        var pagedCount = 0L;
+        var pagedSum = 0.0;
+        for (int page = 0; ; page++) {
+            val result = transactionService.findAllByCustomerId(customerModel.getId(), page, PAGE_SIZE, "id", SortDirection.Ascending, false);
+            for (TransactionSummary transaction : result.getContent()) {
+                pagedCount++;
+                pagedSum += transaction.getAmount();
+            }
+            if (!result.getHasNext()) {
+                break;
+            }
+        }
+        val pagingMillis = (System.nanoTime() - pagingStart) / 1_000_000.0;
+
+        val aggregateStart = System.nanoTime();
+        val aggregate = transactionService.aggregateByCustomerId(customerModel.getId(), null, null);
+        val aggregateMillis = (System.nanoTime() - aggregateStart) / 1_000_000.0;
+
+        log.info("Aggregate over {} transactions >> paging with pageSize {}: {} ms | single aggregate query: {} ms",
+                ROWS, PAGE_SIZE, String.format("%.1f", pagingMillis), String.format("%.1f", aggregateMillis));
+
+        assertEquals(ROWS, pagedCount);
+        assertEquals(ROWS, aggregate.getCount().longValue());
+        assertEquals(pagedSum, aggregate.getSum(), 0.001);
+        assertEquals(1.0, aggregate.getMin(), 0.0);
+        assertEquals(100.0, aggregate.getMax(), 0.0);
+        assertTrue(aggregateMillis < pagingMillis);
+    }
+}
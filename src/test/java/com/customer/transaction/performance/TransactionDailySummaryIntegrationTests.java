@@ -0,0 +1,161 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import com.customer.transaction.data.repository.TransactionRepository;
+import com.customer.transaction.data.service.CustomerDailySummaryService;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@Slf4j
+@TestPropertySource(properties = "bank.transaction.rollup.enabled=true")
+public class TransactionDailySummaryIntegrationTests extends TestBase {
+    private static final int ROWS = 30_000;
+    private static final int DAYS = 60;
+    private static final int BATCH_SIZE = 1000;
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private static final String SUMMARY_ROWS = "select customer_id, summary_date, transaction_count, amount_sum, amount_min, amount_max"
+            + " from bank.customer_daily_summary order by customer_id, summary_date";
+
+    @Autowired
+    public TransactionRepository transactionRepository;
+    @Autowired
+    public CustomerDailySummaryService customerDailySummaryService;
+    @Autowired
+    public JdbcTemplate jdbcTemplate;
+
+    private static CustomerModel customerModel;
+    private static CustomerModel otherCustomerModel;
+
+    private CustomerModel insertCustomer(String phoneNumber) {
+        return customerService.save(CustomerModel
+                .builder()
+                .fullName("rollup_full_name")
+                .phoneNumber(phoneNumber)
+                .balance(1000.0)
+                .build());
+    }
+
+    private void insertTransactions(CustomerModel customer, int rows) {
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            val batch = new ArrayList<TransactionModel>(BATCH_SIZE);
+            for (int i = from; i < Math.min(from + BATCH_SIZE, rows); i++) {
+                batch.add(TransactionModel.builder().amount(1.0 + i % 100).customer(customer).build());
+            }
+            transactionService.saveBatch(batch);
+        }
+    }
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerModel = insertCustomer("33333333333");
+        otherCustomerModel = insertCustomer("33333333334");
+        insertTransactions(customerModel, ROWS);
+        insertTransactions(otherCustomerModel, ROWS / 10);
+
+        // spread the history over DAYS days and over the whole day, then backfill the rollup as after enabling it
+        jdbcTemplate.update("update bank.transaction set created = created - interval (id % " + DAYS + ") day - interval (id % 1440) minute");
+        customerDailySummaryService.rebuild();
+    }
+
+    private List<Date[]> windows() {
+        val now = System.currentTimeMillis();
+        val windows = new ArrayList<Date[]>();
+        windows.add(new Date[]{null, null});
+        windows.add(new Date[]{new Date(now - (long) (10.5 * DAY_MILLIS)), null});
+        windows.add(new Date[]{null, new Date(now - (long) (3.2 * DAY_MILLIS))});
+        windows.add(new Date[]{new Date(now - (long) (40.7 * DAY_MILLIS)), new Date(now - (long) (3.2 * DAY_MILLIS))});
+        windows.add(new Date[]{new Date(now - (long) (20.9 * DAY_MILLIS)), new Date(now - (long) (20.1 * DAY_MILLIS))});
+        windows.add(new Date[]{new Date(now - 2 * DAY_MILLIS), new Date(now - 5 * DAY_MILLIS)});
+        return windows;
+    }
+
+    private void assertRollupMatchesRawRows(CustomerModel customer) {
+        for (val window : windows()) {
+            val raw = transactionRepository.aggregateByCustomerId(customer.getId(), window[0], window[1]);
+            val rollup = transactionService.aggregateByCustomerId(customer.getId(), window[0], window[1]);
+            assertEquals(raw.getCount(), rollup.getCount());
+            if (raw.getCount() == 0) {
+                assertEquals(0.0, rollup.getSum(), 0.0);
+                assertNull(rollup.getMin());
+                continue;
+            }
+            assertEquals(raw.getSum(), rollup.getSum(), 0.001);
+            assertEquals(raw.getMin(), rollup.getMin());
+            assertEquals(raw.getMax(), rollup.getMax());
+            assertEquals(raw.getAverage(), rollup.getAverage(), 0.001);
+        }
+    }
+
+    private List<Map<String, Object>> summaryRows() {
+        return jdbcTemplate.queryForList(SUMMARY_ROWS);
+    }
+
+    @Test
+    public void rollup_matches_raw_rows_after_backfill_test() {
+        assertRollupMatchesRawRows(customerModel);
+        assertRollupMatchesRawRows(otherCustomerModel);
+        assertEquals(jdbcTemplate.queryForObject("select count(distinct customer_id, date(created)) from bank.transaction", Long.class).longValue(),
+                summaryRows().size());
+    }
+
+    @Test
+    public void rollup_is_maintained_by_save_and_hard_delete_test() {
+        insertTransactions(customerModel, 150);
+        transactionService.save(TransactionModel.builder().amount(250.0).customer(customerModel).build());
+
+        val history = transactionRepository.findAllSummariesByCustomerId(customerModel.getId(),
+                PageRequest.of(0, 3, Sort.by("id"))).getContent();
+        transactionService.save(TransactionModel.builder().id(history.get(0).getId()).amount(500.0).customer(customerModel).build());
+        transactionService.save(TransactionModel.builder().id(history.get(1).getId()).amount(0.5).customer(otherCustomerModel).build());
+        transactionService.hardDelete(history.get(2).getId());
+
+        assertRollupMatchesRawRows(customerModel);
+        assertRollupMatchesRawRows(otherCustomerModel);
+
+        val maintained = summaryRows();
+        customerDailySummaryService.rebuild();
+        assertEquals(summaryRows(), maintained);
+    }
+
+    @Test
+    public void rollup_vs_raw_rows_latency_test() {
+        val after = new Date(System.currentTimeMillis() - (long) ((DAYS - 0.5) * DAY_MILLIS));
+        val before = new Date(System.currentTimeMillis() - DAY_MILLIS / 2);
+        transactionRepository.aggregateByCustomerId(customerModel.getId(), after, before);
+        transactionService.aggregateByCustomerId(customerModel.getId(), after, before);
+
+        val rawStart = System.nanoTime();
+        val raw = transactionRepository.aggregateByCustomerId(customerModel.getId(), after, before);
+        val rawMillis = (System.nanoTime() - rawStart) / 1_000_000.0;
+
+        val rollupStart = System.nanoTime();
+        val rollup = transactionService.aggregateByCustomerId(customerModel.getId(), after, before);
+        val rollupMillis = (System.nanoTime() - rollupStart) / 1_000_000.0;
+
+        log.info("Aggregate over {} transactions in {} days >> raw rows: {} ms | daily summary: {} ms",
+                raw.getCount(), DAYS, String.format("%.1f", rawMillis), String.format("%.1f", rollupMillis));
+
+        assertEquals(raw.getCount(), rollup.getCount());
+        assertEquals(raw.getSum(), rollup.getSum(), 0.001);
+    }
+}
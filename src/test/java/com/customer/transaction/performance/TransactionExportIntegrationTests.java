@@ -0,0 +1,66 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.TestBase;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+@Slf4j
+public class TransactionExportIntegrationTests extends TestBase {
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1000;
+
+    private static CustomerModel customerModel;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+        customerModel = customerService.save(CustomerModel
+                .builder()
+                .fullName("export_full_name")
+                .phoneNumber("77777777777")
+                .balance(1000.0)
+                .build());
+
+        for (int from = 0; from < ROWS; from += BATCH_SIZE) {
+            val batch = new ArrayList<TransactionModel>(BATCH_SIZE);
+            for (int i = from; i < from + BATCH_SIZE; i++) {
+                batch.add(TransactionModel.builder().amount(1.0 + i).customer(customerModel).build());
+            }
+            transactionService.saveBatch(batch);
+        }
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    @Test
+    public void export_heap_stays_flat_test() {
+        val peakHeap = new AtomicLong();
+        val baseHeap = usedHeap();
+
+        val start = System.nanoTime();
+        val exported = transactionService.exportByCustomer(customerModel, null, null, transaction -> {
+            if (transaction.getId() % 20_000 == 0) {
+                peakHeap.accumulateAndGet(usedHeap() - baseHeap, Math::max);
+            }
+        });
+        val seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("Exported {} transactions in {} s ({} rows/s), peak retained heap during export: {} KB",
+                exported, String.format("%.2f", seconds), String.format("%.0f", exported / seconds), peakHeap.get() / 1024);
+
+        assertEquals(ROWS, exported);
+    }
+}
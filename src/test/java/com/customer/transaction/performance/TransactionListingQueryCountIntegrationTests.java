@@ -0,0 +1,107 @@
+package com.customer.transaction.performance;
+
+import com.customer.transaction.RestConfiguration;
+import com.customer.transaction.TestBase;
+import com.customer.transaction.controller.View.TransactionViewPagedData;
+import com.customer.transaction.data.model.CustomerModel;
+import com.customer.transaction.data.model.TransactionModel;
+import lombok.val;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TransactionListingQueryCountIntegrationTests extends TestBase {
+    private static final int CUSTOMERS = 5;
+    private static final int TRANSACTIONS_PER_CUSTOMER = 4;
+
+    private static CustomerModel firstCustomer;
+
+    @Before
+    public void setup() {
+        transactionService.hardDeleteAll();
+        customerService.hardDeleteAll();
+
+        val transactions = new ArrayList<TransactionModel>();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            val customer = customerService.save(CustomerModel
+                    .builder()
+                    .fullName("listing_".concat(String.valueOf(c)))
+                    .phoneNumber(String.valueOf(50_000_000_000L + c))
+                    .balance(100.0)
+                    .build());
+            if (c == 0) {
+                firstCustomer = customer;
+            }
+            for (int t = 0; t < TRANSACTIONS_PER_CUSTOMER; t++) {
+                transactions.add(TransactionModel.builder().amount(1.0 + t).customer(customer).build());
+            }
+        }
+        transactionService.saveBatch(transactions);
+    }
+
+    private TransactionViewPagedData get(String path) {
+        return restTemplate.getForEntity(RestConfiguration.LOCALHOST
+                .concat(String.valueOf(port))
+                .concat(path), TransactionViewPagedData.class).getBody();
+    }
+
+    @Test
+    public void find_all_runs_page_and_count_query_only_test() {
+        queryCounter.reset();
+        val page = get("/v1/transactions/find_all?pageSize=5");
+
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(2, queryCounter.statements());
+        assertEquals(0, queryCounter.entityLoads());
+    }
+
+    @Test
+    public void find_all_without_totals_runs_one_query_test() {
+        queryCounter.reset();
+        val page = get("/v1/transactions/find_all?pageSize=5&withTotals=false");
+
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(1, queryCounter.statements());
+        assertEquals(0, queryCounter.entityLoads());
+    }
+
+    @Test
+    public void find_all_with_cursor_runs_one_query_test() {
+        queryCounter.reset();
+        val page = get("/v1/transactions/find_all?pageSize=5&after=");
+
+        assertEquals(5, page.getNumberOfElements());
+        assertEquals(1, queryCounter.statements());
+        assertEquals(0, queryCounter.entityLoads());
+    }
+
+    @Test
+    public void find_all_by_customer_queries_by_customer_id_only_test() {
+        queryCounter.reset();
+        val page = get("/v1/transactions/find_all_by_customer/".concat(firstCustomer.getId().toString()).concat("?pageSize=2&withTotals=false"));
+
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals(1, queryCounter.statements());
+        assertEquals(0, queryCounter.entityLoads());
+    }
+
+    @Test
+    public void find_all_by_customer_probes_customer_only_when_empty_test() {
+        queryCounter.reset();
+        try {
+            get("/v1/transactions/find_all_by_customer/".concat(String.valueOf(Integer.MAX_VALUE)));
+            fail();
+        } catch (final HttpClientErrorException ex) {
+            assertThat(ex.getMessage(), containsString("404"));
+            assertThat(ex.getMessage(), containsString("No customer with id"));
+        }
+        assertEquals(2, queryCounter.statements());
+    }
+}